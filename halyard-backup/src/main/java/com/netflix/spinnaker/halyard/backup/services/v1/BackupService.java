@@ -56,7 +56,8 @@ public class BackupService {
   @Autowired
   HalconfigDirectoryStructure directoryStructure;
 
-  static String[] omitPaths = {"service-logs"};
+  // Logs and caches the daemon keeps in the halconfig directory, none of which are needed to restore it.
+  static String[] omitPaths = {"service-logs", ".task-logs", ".cache"};
 
   public void restore(String backupTar) {
     String halconfigDir = directoryStructure.getHalconfigDirectory();
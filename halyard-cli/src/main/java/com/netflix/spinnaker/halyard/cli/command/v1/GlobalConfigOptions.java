@@ -27,6 +27,8 @@ import lombok.Data;
 public class GlobalConfigOptions {
   private String deployment;
 
+  private boolean forceValidate = false;
+
   private static GlobalConfigOptions globalConfigOptions = null;
 
   public static GlobalConfigOptions getGlobalConfigOptions() {
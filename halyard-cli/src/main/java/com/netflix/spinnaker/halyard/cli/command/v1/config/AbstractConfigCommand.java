@@ -33,6 +33,11 @@ abstract public class AbstractConfigCommand extends NestableCommand {
   @Parameter(names = { "--no-validate" }, description = "Skip validation.")
   public boolean noValidate = false;
 
+  @Parameter(names = { "--force-validate" }, description = "Re-run every validator, even against config that hasn't changed since it was last validated.")
+  public void setForceValidate(boolean forceValidate) {
+    GlobalConfigOptions.getGlobalConfigOptions().setForceValidate(forceValidate);
+  }
+
   @Parameter(names = { "--deployment" }, description = "If supplied, use this Halyard deployment. This will _not_ create a new deployment.")
   public void setDeployment(String deployment) {
     GlobalConfigOptions.getGlobalConfigOptions().setDeployment(deployment);
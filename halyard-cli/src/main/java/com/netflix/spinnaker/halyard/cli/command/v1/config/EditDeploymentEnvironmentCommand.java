@@ -20,11 +20,13 @@ package com.netflix.spinnaker.halyard.cli.command.v1.config;
 import com.beust.jcommander.Parameter;
 import com.beust.jcommander.Parameters;
 import com.netflix.spinnaker.halyard.cli.command.v1.converter.DeploymentTypeConverter;
+import com.netflix.spinnaker.halyard.cli.command.v1.converter.KubernetesBackendConverter;
 import com.netflix.spinnaker.halyard.cli.services.v1.Daemon;
 import com.netflix.spinnaker.halyard.cli.services.v1.OperationHandler;
 import com.netflix.spinnaker.halyard.cli.ui.v1.AnsiUi;
 import com.netflix.spinnaker.halyard.config.model.v1.node.DeploymentEnvironment;
 import com.netflix.spinnaker.halyard.config.model.v1.node.DeploymentEnvironment.DeploymentType;
+import com.netflix.spinnaker.halyard.config.model.v1.node.DeploymentEnvironment.KubernetesBackend;
 import lombok.AccessLevel;
 import lombok.Getter;
 
@@ -102,6 +104,15 @@ public class EditDeploymentEnvironmentCommand extends AbstractConfigCommand {
   )
   private String location;
 
+  @Parameter(
+      names = "--kubernetes-backend",
+      description = "KUBECTL: Run kubectl for every change made to the cluster (default).\n"
+          + "API: Talk to the cluster's API server directly, reusing one client per account. "
+          + "This only applies to the Kubernetes V2 (manifest based) deployment of Spinnaker.",
+      converter = KubernetesBackendConverter.class
+  )
+  private KubernetesBackend kubernetesBackend;
+
   @Parameter(
       names = "--git-upstream-user",
       description = "This is the upstream git user you are configuring to pull changes from & push PRs to."
@@ -158,6 +169,7 @@ public class EditDeploymentEnvironmentCommand extends AbstractConfigCommand {
     deploymentEnvironment.setVault(vault);
 
     deploymentEnvironment.setLocation(isSet(location) ? location : deploymentEnvironment.getLocation());
+    deploymentEnvironment.setKubernetesBackend(kubernetesBackend != null ? kubernetesBackend : deploymentEnvironment.getKubernetesBackend());
 
     if (originalHash == deploymentEnvironment.hashCode()) {
       AnsiUi.failure("No changes supplied.");
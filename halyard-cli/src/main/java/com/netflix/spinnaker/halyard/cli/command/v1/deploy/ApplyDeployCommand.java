@@ -92,6 +92,20 @@ public class ApplyDeployCommand extends AbstractRemoteActionCommand {
   )
   boolean deleteOrphanedServices;
 
+  @Parameter(
+      names = "--force",
+      description = "Re-apply every service's manifests, even those that haven't changed since they were last applied. "
+          + "This is only needed if resources were changed or deleted outside of Halyard."
+  )
+  boolean force;
+
+  @Parameter(
+      names = "--dry-run",
+      description = "Print the order services would be deployed in, and how long that's expected to take, without "
+          + "deploying anything."
+  )
+  boolean dryRun;
+
   @Override
   protected OperationHandler<RemoteAction> getRemoteAction() {
     List<DeployOption> deployOptions = new ArrayList<>();
@@ -104,6 +118,20 @@ public class ApplyDeployCommand extends AbstractRemoteActionCommand {
     if (deleteOrphanedServices) {
       deployOptions.add(DeployOption.DELETE_ORPHANED_SERVICES);
     }
+    if (force) {
+      deployOptions.add(DeployOption.FORCE);
+    }
+
+    if (dryRun) {
+      deployOptions.add(DeployOption.DRY_RUN);
+      return new OperationHandler<RemoteAction>()
+          .setFailureMesssage("Failed to plan Spinnaker deployment.")
+          .setOperation(() -> {
+            RemoteAction plan = Daemon.deployDeployment(getCurrentDeployment(), !noValidate, deployOptions, serviceNames, excludeServiceNames).get();
+            AnsiUi.raw(plan.getScriptDescription());
+            return plan;
+          });
+    }
 
     OperationHandler<RemoteAction> prepHandler =
         new OperationHandler<RemoteAction>()
@@ -18,6 +18,7 @@ package com.netflix.spinnaker.halyard.cli.services.v1;
 
 import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.netflix.spinnaker.halyard.cli.command.v1.GlobalConfigOptions;
 import com.netflix.spinnaker.halyard.cli.command.v1.GlobalOptions;
 import com.netflix.spinnaker.halyard.config.model.v1.canary.AbstractCanaryAccount;
 import com.netflix.spinnaker.halyard.config.model.v1.canary.Canary;
@@ -32,6 +33,7 @@ import com.netflix.spinnaker.halyard.core.StringBodyRequest;
 import com.netflix.spinnaker.halyard.core.registry.v1.BillOfMaterials;
 import com.netflix.spinnaker.halyard.core.registry.v1.Versions;
 import com.netflix.spinnaker.halyard.core.tasks.v1.DaemonTask;
+import com.netflix.spinnaker.halyard.core.tasks.v1.DaemonTaskProgress;
 import com.netflix.spinnaker.halyard.core.tasks.v1.ShallowTaskList;
 import com.netflix.spinnaker.halyard.deploy.deployment.v1.DeployOption;
 import com.netflix.spinnaker.halyard.deploy.spinnaker.v1.RunningServiceDetails;
@@ -843,6 +845,10 @@ public class Daemon {
     return getService().getTask(uuid);
   }
 
+  static DaemonTaskProgress getTaskProgress(String uuid, long since, long waitMs) {
+    return getService().getTaskProgress(uuid, since, waitMs);
+  }
+
   public static void interruptTask(String uuid) {
     getService().interruptTask(uuid, "");
   }
@@ -894,6 +900,11 @@ public class Daemon {
         .setEndpoint(GlobalOptions.getGlobalOptions().getDaemonEndpoint())
         .setClient(new OkClient())
         .setConverter(new JacksonConverter(getObjectMapper()))
+        .setRequestInterceptor(request -> {
+          if (GlobalConfigOptions.getGlobalConfigOptions().isForceValidate()) {
+            request.addQueryParam("forceValidation", "true");
+          }
+        })
         .setLogLevel(log ? RestAdapter.LogLevel.FULL : RestAdapter.LogLevel.NONE)
         .build()
         .create(DaemonService.class);
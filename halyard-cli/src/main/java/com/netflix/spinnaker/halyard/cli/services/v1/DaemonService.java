@@ -26,6 +26,7 @@ import com.netflix.spinnaker.halyard.core.DaemonOptions;
 import com.netflix.spinnaker.halyard.core.StringBodyRequest;
 import com.netflix.spinnaker.halyard.core.registry.v1.Versions;
 import com.netflix.spinnaker.halyard.core.tasks.v1.DaemonTask;
+import com.netflix.spinnaker.halyard.core.tasks.v1.DaemonTaskProgress;
 import com.netflix.spinnaker.halyard.core.tasks.v1.ShallowTaskList;
 import com.netflix.spinnaker.halyard.deploy.deployment.v1.DeployOption;
 import retrofit.client.Response;
@@ -50,6 +51,12 @@ public interface DaemonService {
   @GET("/v1/tasks/{uuid}/")
   <C, T> DaemonTask<C, T> getTask(@Path("uuid") String uuid);
 
+  @GET("/v1/tasks/{uuid}/progress")
+  DaemonTaskProgress getTaskProgress(
+      @Path("uuid") String uuid,
+      @Query("since") long since,
+      @Query("waitMs") long waitMs);
+
   @PUT("/v1/backup/create")
   DaemonTask<Halconfig, Object> createBackup(@Body String _ignore);
 
@@ -26,6 +26,8 @@ import com.netflix.spinnaker.halyard.core.problem.v1.ProblemSet;
 import com.netflix.spinnaker.halyard.core.tasks.v1.DaemonEvent;
 import com.netflix.spinnaker.halyard.core.tasks.v1.DaemonTask;
 import com.netflix.spinnaker.halyard.core.tasks.v1.DaemonTask.State;
+import com.netflix.spinnaker.halyard.core.tasks.v1.DaemonTaskProgress;
+import com.netflix.spinnaker.halyard.core.tasks.v1.DaemonTaskProgress.TaskProgress;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang.StringUtils;
 
@@ -46,31 +48,27 @@ public class ResponseUnwrapper {
 
   public static <C, T> T get(DaemonTask<C, T> task) {
     int lastTaskCount = 0;
+    String uuid = task.getUuid();
 
-    task = Daemon.getTask(task.getUuid());
-    Set<String> loggedEvents = new HashSet<>();
-    while (!task.getState().isTerminal()) {
+    // The daemon answers as soon as anything changes, and otherwise after WAIT_MILLIS so the cursor keeps spinning.
+    DaemonTaskProgress progress = Daemon.getTaskProgress(uuid, 0, WAIT_MILLIS);
+    while (!progress.getState().isTerminal()) {
       updateCycle();
       if (interrupted) {
-        Daemon.interruptTask(task.getUuid());
+        Daemon.interruptTask(uuid);
         throw TaskKilledException.interrupted(new InterruptedException("Interrupted by user"));
       }
 
-      List<DaemonTask> aggregatedTasks = aggregateTasks(task);
-      lastTaskCount = formatTasks(aggregatedTasks, lastTaskCount);
-      logTasks(aggregatedTasks, loggedEvents);
-      try {
-        Thread.sleep(WAIT_MILLIS);
-      } catch (InterruptedException ignored) {
-      }
+      lastTaskCount = formatTasks(progress.getTasks(), lastTaskCount);
+      logTasks(progress.getTasks());
 
-      task = Daemon.getTask(task.getUuid());
+      progress = Daemon.getTaskProgress(uuid, progress.getCursor(), WAIT_MILLIS);
     }
 
-    List<DaemonTask> aggregatedTasks = aggregateTasks(task);
-    formatTasks(aggregatedTasks, lastTaskCount);
-    logTasks(aggregatedTasks, loggedEvents);
+    formatTasks(progress.getTasks(), lastTaskCount);
+    logTasks(progress.getTasks());
 
+    task = Daemon.getTask(uuid);
     DaemonResponse<T> response = task.getResponse();
 
     formatProblemSet(response.getProblemSet());
@@ -91,35 +89,24 @@ public class ResponseUnwrapper {
     }
   }
 
-  private static String formatLoggedDaemonTask(DaemonTask task, DaemonEvent event) {
+  private static String formatLoggedDaemonTask(TaskProgress task, DaemonEvent event) {
     return "Message from task " + task.getName() + ": " + event.getStage() + " - " + event.getMessage();
   }
 
-  private static void logTasks(List<DaemonTask> tasks, Set<String> loggedEvents) {
-    // This is expensive, so don't check all tasks to log unless it's necessary.
+  private static void logTasks(List<TaskProgress> tasks) {
     if (GlobalOptions.getGlobalOptions().getLog() == Level.OFF) {
       return;
     }
 
-    for (DaemonTask task : tasks) {
-      for (Object oEvent : task.getEvents()) {
-        DaemonEvent event = (DaemonEvent) oEvent;
-        String loggedEvent = formatLoggedDaemonTask(task, event);
-        if (!loggedEvents.contains(loggedEvent)) {
-          loggedEvents.add(loggedEvent);
-          log.info(loggedEvent);
-        }
+    // Each event is only sent once, so there's no need to remember which have been logged.
+    for (TaskProgress task : tasks) {
+      for (DaemonEvent event : task.getEvents()) {
+        log.info(formatLoggedDaemonTask(task, event));
       }
     }
   }
 
-  private static List<DaemonTask> aggregateTasks(DaemonTask task) {
-    List<DaemonTask> result = new ArrayList<>();
-    task.consumeTaskTree((t) -> result.add((DaemonTask) t));
-    return result;
-  }
-
-  private static int formatTasks(List<DaemonTask> tasks, int lastChildCount) {
+  private static int formatTasks(List<TaskProgress> tasks, int lastChildCount) {
     if (tasks.size() == 0 || GlobalOptions.getGlobalOptions().isQuiet()) {
       return tasks.size();
     }
@@ -130,28 +117,18 @@ public class ResponseUnwrapper {
     AnsiSnippet snippet = new AnsiSnippet("").addMove(AnsiMove.UP, tasks.size() * 2);
     AnsiPrinter.out.print(snippet.toString());
 
-    for (DaemonTask task : tasks) {
+    for (TaskProgress task : tasks) {
       formatLastEvent(task);
     }
 
     return tasks.size();
   }
 
-  private static DaemonEvent getLastEvent(DaemonTask task) {
-    int eventCount = task.getEvents().size();
-    DaemonEvent event = null;
-    if (eventCount > 0) {
-      event = (DaemonEvent) task.getEvents().get(eventCount - 1);
-    }
-
-    return event;
-  }
-
-  private static void formatLastEvent(DaemonTask task) {
+  private static void formatLastEvent(TaskProgress task) {
     AnsiParagraphBuilder builder = new AnsiParagraphBuilder().setMaxLineWidth(-1);
     builder.addSnippet("\r").setErase(AnsiErase.ERASE_LINE);
 
-    DaemonEvent event = getLastEvent(task);
+    DaemonEvent event = task.getLastEvent();
     State state = task.getState();
     String taskName = task.getName();
 
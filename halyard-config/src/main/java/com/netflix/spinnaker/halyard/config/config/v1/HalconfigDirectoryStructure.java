@@ -99,6 +99,10 @@ public class HalconfigDirectoryStructure {
     return ensureRelativeHalDirectory(deploymentName, "history");
   }
 
+  public Path getTaskLogsPath() {
+    return ensureDirectory(Paths.get(halconfigDirectory, ".task-logs"));
+  }
+
   public Path getCachePath() {
     return ensureDirectory(Paths.get(halconfigDirectory, ".cache"));
   }
@@ -126,6 +130,16 @@ public class HalconfigDirectoryStructure {
     return new File(history, "service-profiles.yml").toPath();
   }
 
+  public Path getAppliedManifestsPath(String deploymentName) {
+    File history = ensureRelativeHalDirectory(deploymentName, "history").toFile();
+    return new File(history, "applied-manifests.yml").toPath();
+  }
+
+  public Path getDeployTimingsPath(String deploymentName) {
+    File history = ensureRelativeHalDirectory(deploymentName, "history").toFile();
+    return new File(history, "deploy-timings.yml").toPath();
+  }
+
   private Path ensureRelativeHalDirectory(String deploymentName, String directoryName) {
     Path path = Paths.get(halconfigDirectory, deploymentName, directoryName);
     ensureDirectory(path);
@@ -25,6 +25,8 @@ import com.netflix.spinnaker.halyard.core.GlobalApplicationOptions;
 import com.netflix.spinnaker.halyard.core.error.v1.HalException;
 import com.netflix.spinnaker.halyard.core.problem.v1.Problem.Severity;
 import com.netflix.spinnaker.halyard.core.tasks.v1.DaemonTaskHandler;
+import lombok.AllArgsConstructor;
+import lombok.Data;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.io.FileUtils;
 import org.apache.commons.io.filefilter.TrueFileFilter;
@@ -40,6 +42,7 @@ import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.HashSet;
@@ -47,6 +50,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
@@ -82,6 +86,25 @@ public class HalconfigParser {
   private boolean useBackup = false;
   private String backupHalconfigPath;
 
+  /**
+   * The most recently read (or written) halconfig contents, shared by all tasks in this daemon. Each task converts
+   * its own copy out of these contents, so edits staged by one task are never visible to another until saved.
+   */
+  private final AtomicReference<CachedHalconfig> cachedHalconfig = new AtomicReference<>();
+
+  @Data
+  @AllArgsConstructor
+  private static class CachedHalconfig {
+    private final Path path;
+    private final long lastModified;
+    private final long size;
+    private final Object contents;
+
+    boolean isCurrent(Path path, long lastModified, long size) {
+      return this.path.equals(path) && this.lastModified == lastModified && this.size == size;
+    }
+  }
+
   /**
    * Parse Halyard's config.
    *
@@ -114,9 +137,33 @@ public class HalconfigParser {
     return halconfig;
   }
 
-  private InputStream getHalconfigStream() throws FileNotFoundException {
-    String path = useBackup ? backupHalconfigPath : halconfigPath;
-    return new FileInputStream(new File(path));
+  /**
+   * Reads the halconfig contents at the current path, reusing the cached contents when the file's modification time
+   * and size are unchanged since they were last read or written.
+   *
+   * @return the halconfig contents as loaded by the yaml parser.
+   */
+  private Object loadHalconfigContents() throws IOException {
+    Path path = Paths.get(useBackup ? backupHalconfigPath : halconfigPath);
+    File file = path.toFile();
+    if (!file.exists()) {
+      throw new FileNotFoundException(path.toString());
+    }
+
+    long lastModified = Files.getLastModifiedTime(path).toMillis();
+    long size = file.length();
+    CachedHalconfig cached = cachedHalconfig.get();
+    if (cached != null && cached.isCurrent(path, lastModified, size)) {
+      return cached.getContents();
+    }
+
+    Object contents;
+    try (InputStream is = new FileInputStream(file)) {
+      contents = yamlParser.load(is);
+    }
+
+    cachedHalconfig.set(new CachedHalconfig(path, lastModified, size, contents));
+    return contents;
   }
 
   /**
@@ -130,10 +177,12 @@ public class HalconfigParser {
 
     if (local == null) {
       try {
-        InputStream is = getHalconfigStream();
-        local = parseHalconfig(is);
+        local = objectMapper.convertValue(loadHalconfigContents(), Halconfig.class);
       } catch (FileNotFoundException ignored) {
         // leave res as `null`
+      } catch (IOException e) {
+        throw new HalException(Severity.FATAL,
+            "Failure reading your halconfig: " + e.getMessage(), e);
       } catch (ParserException e) {
         throw new ParseConfigException(e);
       } catch (ScannerException e) {
@@ -244,9 +293,16 @@ public class HalconfigParser {
 
     AtomicFileWriter writer = null;
     try {
+      Map contents = objectMapper.convertValue(local, Map.class);
       writer = new AtomicFileWriter(path);
-      writer.write(yamlParser.dump(objectMapper.convertValue(local, Map.class)));
+      writer.write(yamlParser.dump(contents));
       writer.commit();
+
+      // Swap in what was just written so the next task doesn't need to re-read & re-parse it.
+      cachedHalconfig.set(new CachedHalconfig(path,
+          Files.getLastModifiedTime(path).toMillis(),
+          path.toFile().length(),
+          contents));
     } catch (IOException e) {
       throw new HalException(Severity.FATAL,
           "Failure writing your halconfig to path \"" + halconfigPath + "\": " + e.getMessage(), e);
@@ -53,6 +53,14 @@ public class ResourceConfig {
     return normalizePath(Paths.get(path, "config").toString());
   }
 
+  /**
+   * Directory BOMs and profiles read from the config bucket are cached in, under the halconfig directory's cache.
+   */
+  @Bean
+  String profileCachePath(@Value("${halyard.halconfig.directory:~/.hal}") String path) {
+    return normalizePath(Paths.get(path, ".cache", "profiles").toString());
+  }
+
   @Bean
   String localBomPath(@Value("${halyard.halconfig.directory:~/.hal}") String path) {
     return normalizePath(Paths.get(path, ".boms").toString());
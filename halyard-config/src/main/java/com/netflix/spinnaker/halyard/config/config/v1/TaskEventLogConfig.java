@@ -0,0 +1,38 @@
+/*
+ * Copyright 2018 Google, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License")
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.spinnaker.halyard.config.config.v1;
+
+import com.netflix.spinnaker.halyard.core.tasks.v1.TaskRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+
+import javax.annotation.PostConstruct;
+
+@Configuration
+class TaskEventLogConfig {
+  @Autowired
+  HalconfigDirectoryStructure halconfigDirectoryStructure;
+
+  @Value("${tasks.events.capacity:1000}")
+  int capacity;
+
+  @PostConstruct
+  void configureEventLogs() {
+    TaskRepository.configureEventLogs(capacity, halconfigDirectoryStructure.getTaskLogsPath());
+  }
+}
@@ -0,0 +1,160 @@
+/*
+ * Copyright 2018 Google, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License")
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.spinnaker.halyard.config.memoize.v1;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import com.netflix.spectator.api.Registry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * A bounded cache for the results of remote calls made by validators and services (listing a docker registry's
+ * catalog, checking that a kubernetes cluster is reachable, reading the latest versions, etc...), so that running the
+ * same command twice doesn't repeat the same probes.
+ *
+ * Entries are keyed by the kind of probe, the endpoint probed, and a fingerprint of the credentials used. Failures are
+ * remembered too, but for a shorter time, so that a fixed endpoint or credential is noticed quickly.
+ */
+@Slf4j
+@Component
+public class RemoteProbeCache {
+  @Autowired(required = false)
+  Registry registry;
+
+  @Value("${remoteProbeCache.maxEntries:1000}")
+  long maxEntries = 1000;
+
+  @Value("${remoteProbeCache.ttlMs:300000}")
+  long ttlMs = 300000;
+
+  @Value("${remoteProbeCache.failureTtlMs:30000}")
+  long failureTtlMs = 30000;
+
+  private volatile Cache<String, Entry> entries;
+
+  private static class Entry {
+    final Object value;
+    final RuntimeException failure;
+    final long expiresAt;
+
+    Entry(Object value, RuntimeException failure, long ttlMs) {
+      this.value = value;
+      this.failure = failure;
+      this.expiresAt = System.currentTimeMillis() + ttlMs;
+    }
+
+    boolean expired() {
+      return System.currentTimeMillis() >= expiresAt;
+    }
+  }
+
+  private Cache<String, Entry> getEntries() {
+    if (entries == null) {
+      synchronized (this) {
+        if (entries == null) {
+          entries = CacheBuilder.newBuilder()
+              .maximumSize(maxEntries)
+              .build();
+        }
+      }
+    }
+
+    return entries;
+  }
+
+  /**
+   * Returns the result of the probe, only running it if it hasn't been run recently.
+   *
+   * @param probe is the kind of probe being run, e.g. "dockerRegistryCatalog".
+   * @param endpoint is the address or resource being probed.
+   * @param credentialFingerprint identifies the credentials the probe runs with.
+   * @param loader runs the probe.
+   * @return the result of the probe.
+   * @throws RuntimeException the exception thrown by the probe, if it failed recently.
+   */
+  public <T> T get(String probe, String endpoint, String credentialFingerprint, Supplier<T> loader) {
+    return get(probe, endpoint, credentialFingerprint, ttlMs, loader);
+  }
+
+  public <T> T get(String probe, String endpoint, String credentialFingerprint, Supplier<T> loader, Predicate<T> complete) {
+    return get(probe, endpoint, credentialFingerprint, ttlMs, loader, complete);
+  }
+
+  public <T> T get(String probe, String endpoint, String credentialFingerprint, long ttlMs, Supplier<T> loader) {
+    return get(probe, endpoint, credentialFingerprint, ttlMs, loader, r -> true);
+  }
+
+  /**
+   * @param complete decides whether a result the probe returned is complete. Incomplete results (e.g. a listing that
+   *                 failed for some of what it covers) are kept no longer than failures.
+   */
+  public <T> T get(String probe, String endpoint, String credentialFingerprint, long ttlMs, Supplier<T> loader, Predicate<T> complete) {
+    String key = String.join(":", probe, endpoint, Objects.toString(credentialFingerprint));
+    Entry entry = getEntries().getIfPresent(key);
+    if (entry != null && !entry.expired()) {
+      record(probe, entry.failure == null ? "hit" : "failureHit");
+      return unwrap(entry);
+    }
+
+    record(probe, "miss");
+    log.debug("Running probe " + probe + " against " + endpoint);
+    try {
+      T value = loader.get();
+      entry = new Entry(value, null, complete.test(value) ? ttlMs : Math.min(ttlMs, failureTtlMs));
+    } catch (RuntimeException e) {
+      entry = new Entry(null, e, Math.min(ttlMs, failureTtlMs));
+    }
+
+    getEntries().put(key, entry);
+    return unwrap(entry);
+  }
+
+  /**
+   * @param parts are the credential values (passwords, key files, etc...) to fingerprint.
+   * @return a hash of all supplied values, so credentials never need to be kept as part of a key.
+   */
+  public static String fingerprint(Object... parts) {
+    Hasher hasher = Hashing.sha256().newHasher();
+    Arrays.stream(parts).forEach(p -> hasher.putString(Objects.toString(p), StandardCharsets.UTF_8).putByte((byte) 0));
+    return hasher.hash().toString();
+  }
+
+  private <T> T unwrap(Entry entry) {
+    if (entry.failure != null) {
+      throw entry.failure;
+    }
+
+    return (T) entry.value;
+  }
+
+  private void record(String probe, String result) {
+    if (registry != null) {
+      registry.counter("halyard.remoteProbeCache.requests", "probe", probe, "result", result).increment();
+    }
+  }
+}
@@ -85,6 +85,29 @@ public class DeploymentEnvironment extends Node {
     }
   }
 
+  public enum KubernetesBackend {
+    KUBECTL("Run kubectl for every change made to the cluster."),
+    API("Talk to the cluster's API server directly, reusing one client per account.");
+
+    @Getter
+    final String description;
+
+    KubernetesBackend(String description) {
+      this.description = description;
+    }
+
+    public static KubernetesBackend fromString(String name) {
+      for (KubernetesBackend backend : KubernetesBackend.values()) {
+        if (backend.toString().equalsIgnoreCase(name)) {
+          return backend;
+        }
+      }
+
+      throw new IllegalArgumentException("KubernetesBackend \"" + name + "\" is not a valid choice. The options are: "
+          + Arrays.toString(KubernetesBackend.values()));
+    }
+  }
+
   private Size size = Size.SMALL;
   private DeploymentType type = DeploymentType.LocalDebian;
   private String accountName;
@@ -93,6 +116,7 @@ public class DeploymentEnvironment extends Node {
   private Consul consul = new Consul();
   private Vault vault = new Vault();
   private String location;
+  private KubernetesBackend kubernetesBackend = KubernetesBackend.KUBECTL;
   private CustomSizing customSizing = new CustomSizing();
   private Map<String, List<SidecarConfig>> sidecars = new HashMap<>();
   private Map<String, List<Map>> initContainers = new HashMap<>();
@@ -107,6 +131,11 @@ public class DeploymentEnvironment extends Node {
     return updateVersions == null ? true : updateVersions;
   }
 
+  public KubernetesBackend getKubernetesBackend() {
+    // default is kubectl, even when unset
+    return kubernetesBackend == null ? KubernetesBackend.KUBECTL : kubernetesBackend;
+  }
+
   @Data
   public static class Consul {
     String address;
@@ -466,4 +466,15 @@ abstract public class Node implements Validatable {
     ObjectMapper mapper = new ObjectMapper();
     return mapper.convertValue(mapper.convertValue(this, Map.class), tClass);
   }
+
+  /**
+   * Clones this node such that the copy can still look up the nodes above it, although none of them refer to it. This
+   * is for making changes to part of a config that no one else will see.
+   */
+  public <T extends Node> T cloneWithParent(Class<T> tClass) {
+    T result = cloneNode(tClass);
+    result.parent = parent;
+    result.parentify();
+    return result;
+  }
 }
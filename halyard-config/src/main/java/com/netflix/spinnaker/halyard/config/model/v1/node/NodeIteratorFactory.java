@@ -18,10 +18,16 @@ package com.netflix.spinnaker.halyard.config.model.v1.node;
 
 import lombok.extern.slf4j.Slf4j;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
 import java.util.ArrayList;
-import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * @see Node
@@ -29,6 +35,13 @@ import java.util.stream.Collectors;
  */
 @Slf4j
 public class NodeIteratorFactory {
+  /**
+   * Getters for the fields of each Node subclass that may hold a child Node, resolved once per class.
+   */
+  private static final Map<Class<?>, List<MethodHandle>> childFieldGetters = new ConcurrentHashMap<>();
+
+  private static final MethodType CHILD_GETTER_TYPE = MethodType.methodType(Object.class, Node.class);
+
   /**
    * Creates an iterator from a Node that allows us to iterate over all sub-fields with type node.
    *
@@ -36,37 +49,67 @@ public class NodeIteratorFactory {
    * @return the resulting interator.
    */
   public static NodeIterator makeReflectiveIterator(Node node) {
-    List<Node> nodes = new ArrayList<>(Arrays.asList(node.getClass().getDeclaredFields()))
-        .stream()
-        .filter(f -> {
-          try {
-            f.setAccessible(true);
-            return f.get(node) instanceof Node;
-          } catch (IllegalAccessException e) {
-            log.warn("Could not retrieve field value for " + f.getName(), e);
-            return false;
-          } finally {
-            f.setAccessible(false);
-          }
-        })
-        .map(n -> {
-          try {
-            n.setAccessible(true);
-            return (Node) n.get(node);
-          } catch (IllegalAccessException | SecurityException e) {
-            log.warn("Could not retrieve node value for " + n.getName(), e);
-            return null;
-          } finally {
-            n.setAccessible(false);
-          }
-        })
-        .filter(n -> n != null).collect(Collectors.toList());
+    List<MethodHandle> getters = childFieldGetters.computeIfAbsent(node.getClass(), NodeIteratorFactory::resolveChildFieldGetters);
+    List<Node> nodes = new ArrayList<>(getters.size());
+    for (MethodHandle getter : getters) {
+      Object value;
+      try {
+        value = (Object) getter.invokeExact(node);
+      } catch (Throwable e) {
+        log.warn("Could not retrieve node value for " + getter, e);
+        continue;
+      }
+
+      if (value instanceof Node) {
+        nodes.add((Node) value);
+      }
+    }
 
     log.trace("Node " + node.getNodeName() + " reflectively collected " + nodes.size() + " children");
 
     return new NodeListIterator(nodes);
   }
 
+  /**
+   * Finds every non-static field declared by this class whose type could hold a Node, and unreflects a getter for it.
+   * Fields that can only ever hold non-Node values (strings, primitives, collections, etc...) are skipped entirely.
+   *
+   * @param clazz the node class being inspected.
+   * @return the getters for all candidate child-node fields, in declaration order.
+   */
+  private static List<MethodHandle> resolveChildFieldGetters(Class<?> clazz) {
+    MethodHandles.Lookup lookup = MethodHandles.lookup();
+    List<MethodHandle> getters = new ArrayList<>();
+    for (Field field : clazz.getDeclaredFields()) {
+      if (Modifier.isStatic(field.getModifiers()) || !mayHoldNode(field.getType())) {
+        continue;
+      }
+
+      try {
+        field.setAccessible(true);
+        getters.add(lookup.unreflectGetter(field).asType(CHILD_GETTER_TYPE));
+      } catch (IllegalAccessException | SecurityException e) {
+        log.warn("Could not retrieve field value for " + field.getName(), e);
+      } finally {
+        field.setAccessible(false);
+      }
+    }
+
+    log.trace("Resolved " + getters.size() + " candidate child node fields for " + clazz.getSimpleName());
+
+    return Collections.unmodifiableList(getters);
+  }
+
+  private static boolean mayHoldNode(Class<?> type) {
+    if (type.isPrimitive()) {
+      return false;
+    }
+
+    return Node.class.isAssignableFrom(type)
+        || type.isAssignableFrom(Node.class)
+        || (type.isInterface() && !type.getName().startsWith("java."));
+  }
+
   public static NodeIterator makeListIterator(List<Node> nodes) {
     return new NodeListIterator(nodes);
   }
@@ -20,4 +20,13 @@ import com.netflix.spinnaker.halyard.config.problem.v1.ConfigProblemSetBuilder;
 
 public abstract class Validator<T extends Node> {
   abstract public void validate(ConfigProblemSetBuilder p, T n);
+
+  /**
+   * @return true iff this validator's problems depend only on the node it validates and the local files that node
+   * references, so that they can be replayed while neither has changed. Validators that read other parts of the config
+   * (or other files) must leave this false.
+   */
+  public boolean isCacheable() {
+    return false;
+  }
 }
@@ -63,8 +63,11 @@ public class ConfigProblemSetBuilder {
   }
 
   public ConfigProblemSetBuilder extend(HalException e) {
-    e.getProblems()
-        .getProblems()
+    return extend(e.getProblems());
+  }
+
+  public ConfigProblemSetBuilder extend(ProblemSet problems) {
+    problems.getProblems()
         .forEach(p -> addProblem(p.getSeverity(), p.getMessage())
             .setOptions(p.getOptions())
             .setRemediation(p.getRemediation())
@@ -73,6 +76,15 @@ public class ConfigProblemSetBuilder {
     return this;
   }
 
+  /**
+   * Appends all problems collected by another builder, in the order they were added to it. Used to fold together
+   * builders that were filled in separately, e.g. while validating subtrees concurrently.
+   */
+  public ConfigProblemSetBuilder addAll(ConfigProblemSetBuilder other) {
+    builders.addAll(other.builders);
+    return this;
+  }
+
   public ProblemSet build() {
     List<Problem> problems = builders
         .stream()
@@ -16,7 +16,10 @@
 
 package com.netflix.spinnaker.halyard.config.services.v1;
 
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.netflix.spinnaker.halyard.config.config.v1.HalconfigParser;
+import com.netflix.spinnaker.halyard.config.model.v1.node.Account;
+import com.netflix.spinnaker.halyard.config.model.v1.node.ArtifactAccount;
 import com.netflix.spinnaker.halyard.config.model.v1.node.Halconfig;
 import com.netflix.spinnaker.halyard.config.model.v1.node.Node;
 import com.netflix.spinnaker.halyard.config.model.v1.node.NodeFilter;
@@ -25,11 +28,27 @@ import com.netflix.spinnaker.halyard.config.problem.v1.ConfigProblemSetBuilder;
 import com.netflix.spinnaker.halyard.config.validate.v1.ValidatorCollection;
 import com.netflix.spinnaker.halyard.core.problem.v1.ProblemSet;
 import com.netflix.spinnaker.halyard.core.tasks.v1.DaemonTaskHandler;
+import com.netflix.spinnaker.halyard.core.tasks.v1.DaemonTaskInterrupted;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.ApplicationContext;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+
+/**
+ * Validates the nodes matching a filter. Account subtrees are independent of one another, and their validators tend to
+ * block on remote calls, so each one is validated on a bounded pool while the rest of the tree is walked. Problems are
+ * always reported in tree order, regardless of which subtree finishes first.
+ */
 @Slf4j
 @Component
 public class ValidateService {
@@ -42,26 +61,119 @@ public class ValidateService {
   @Autowired
   private ApplicationContext applicationContext;
 
+  @Value("${validation.parallelism:4}")
+  int validationParallelism;
+
+  @Value("${validation.incremental:true}")
+  boolean incrementalValidation = false;
+
+  private static final ThreadLocal<Boolean> forceFullValidation = ThreadLocal.withInitial(() -> false);
+
+  private ExecutorService validationExecutor;
+
+  /**
+   * Wraps a validation so that every validator it runs is re-run, rather than re-using the results of prior runs
+   * against unchanged config.
+   *
+   * @param validation is the validation to run, on the calling thread.
+   * @return the wrapped validation.
+   */
+  public static <T> Supplier<T> withFullValidation(Supplier<T> validation) {
+    return () -> {
+      forceFullValidation.set(true);
+      try {
+        return validation.get();
+      } finally {
+        forceFullValidation.remove();
+      }
+    };
+  }
+
   ProblemSet validateMatchingFilter(NodeFilter filter) {
     DaemonTaskHandler.newStage("Running validation");
     Halconfig halconfig = parser.getHalconfig();
-    ConfigProblemSetBuilder psBuilder = new ConfigProblemSetBuilder(applicationContext);
-    recursiveValidate(psBuilder, halconfig, filter);
+    boolean useCachedResults = incrementalValidation && !forceFullValidation.get();
+    List<Future<ConfigProblemSetBuilder>> results = new ArrayList<>();
+    recursiveValidate(results, halconfig, filter, useCachedResults);
 
-    return psBuilder.build();
+    return collectProblems(results).build();
   }
 
-  private void recursiveValidate(ConfigProblemSetBuilder psBuilder, Node node, NodeFilter filter) {
-    int runCount = validatorCollection.runAllValidators(psBuilder, node);
+  private void recursiveValidate(List<Future<ConfigProblemSetBuilder>> results, Node node, NodeFilter filter, boolean useCachedResults) {
+    if (validationParallelism > 1 && isIndependentSubtree(node)) {
+      results.add(getValidationExecutor().submit(DaemonTaskHandler.withCurrentTask(() -> {
+        ConfigProblemSetBuilder psBuilder = new ConfigProblemSetBuilder(applicationContext);
+        validateSubtree(psBuilder, node, filter, useCachedResults);
+        return psBuilder;
+      })));
+      return;
+    }
 
-    log.info("Ran " + runCount + " validators for node \"" + node.getNodeName() + "\" with class \"" + node.getClass().getSimpleName() + "\"");
+    ConfigProblemSetBuilder psBuilder = new ConfigProblemSetBuilder(applicationContext);
+    validateNode(psBuilder, node, useCachedResults);
+    results.add(CompletableFuture.completedFuture(psBuilder));
 
     NodeIterator children = node.getChildren();
 
     Node recurse = children.getNext(filter);
     while (recurse != null) {
-      recursiveValidate(psBuilder, recurse, filter);
+      recursiveValidate(results, recurse, filter, useCachedResults);
       recurse = children.getNext(filter);
     }
   }
+
+  private void validateSubtree(ConfigProblemSetBuilder psBuilder, Node node, NodeFilter filter, boolean useCachedResults) {
+    validateNode(psBuilder, node, useCachedResults);
+
+    NodeIterator children = node.getChildren();
+
+    Node recurse = children.getNext(filter);
+    while (recurse != null) {
+      validateSubtree(psBuilder, recurse, filter, useCachedResults);
+      recurse = children.getNext(filter);
+    }
+  }
+
+  private void validateNode(ConfigProblemSetBuilder psBuilder, Node node, boolean useCachedResults) {
+    int runCount = validatorCollection.runAllValidators(psBuilder, node, useCachedResults);
+
+    log.info("Ran " + runCount + " validators for node \"" + node.getNodeName() + "\" with class \"" + node.getClass().getSimpleName() + "\"");
+  }
+
+  private ConfigProblemSetBuilder collectProblems(List<Future<ConfigProblemSetBuilder>> results) {
+    ConfigProblemSetBuilder psBuilder = new ConfigProblemSetBuilder(applicationContext);
+    try {
+      for (Future<ConfigProblemSetBuilder> result : results) {
+        psBuilder.addAll(result.get());
+      }
+    } catch (InterruptedException e) {
+      results.forEach(r -> r.cancel(true));
+      throw new DaemonTaskInterrupted("Interrupted during validation", e);
+    } catch (ExecutionException e) {
+      results.forEach(r -> r.cancel(true));
+      Throwable cause = e.getCause();
+      if (cause instanceof RuntimeException) {
+        throw (RuntimeException) cause;
+      }
+
+      throw new RuntimeException("Validation failed: " + cause.getMessage(), cause);
+    }
+
+    return psBuilder;
+  }
+
+  private static boolean isIndependentSubtree(Node node) {
+    return node instanceof Account || node instanceof ArtifactAccount;
+  }
+
+  private synchronized ExecutorService getValidationExecutor() {
+    if (validationExecutor == null) {
+      validationExecutor = Executors.newFixedThreadPool(validationParallelism, new ThreadFactoryBuilder()
+          .setNameFormat("validation-%d")
+          .setDaemon(true)
+          .build());
+    }
+
+    return validationExecutor;
+  }
 }
@@ -20,14 +20,16 @@ package com.netflix.spinnaker.halyard.config.services.v1;
 import static com.netflix.spinnaker.halyard.core.problem.v1.Problem.Severity.FATAL;
 
 import com.netflix.spinnaker.halyard.config.config.v1.RelaxedObjectMapper;
+import com.netflix.spinnaker.halyard.config.memoize.v1.RemoteProbeCache;
 import com.netflix.spinnaker.halyard.config.problem.v1.ConfigProblemBuilder;
 import com.netflix.spinnaker.halyard.core.error.v1.HalException;
-import com.netflix.spinnaker.halyard.core.memoize.v1.ExpiringConcurrentMap;
 import com.netflix.spinnaker.halyard.core.registry.v1.BillOfMaterials;
 import com.netflix.spinnaker.halyard.core.registry.v1.ProfileRegistry;
 import com.netflix.spinnaker.halyard.core.registry.v1.Versions;
 import java.io.IOException;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 import org.yaml.snakeyaml.Yaml;
@@ -44,11 +46,12 @@ public class VersionsService {
   @Autowired
   RelaxedObjectMapper relaxedObjectMapper;
 
-  static private ExpiringConcurrentMap<String, String> concurrentMap = ExpiringConcurrentMap.fromMinutes(10);
+  @Autowired
+  RemoteProbeCache remoteProbeCache;
 
-  static private String latestHalyardKey = "__latest-halyard__";
+  static private long latestVersionsTtlMs = TimeUnit.MINUTES.toMillis(10);
 
-  static private String latestSpinnakerKey = "__latest-spinnaker__";
+  static private String unknownVersion = "0.0.0-UNKNOWN";
 
   public Versions getVersions() {
     try {
@@ -80,18 +83,9 @@ public class VersionsService {
   }
 
   public String getLatestHalyardVersion() {
-    String result = concurrentMap.get(latestHalyardKey);
-    if (result == null) {
-      Versions versions = getVersions();
-      if (versions != null) {
-        result = versions.getLatestHalyard();
-        concurrentMap.put(latestHalyardKey, result);
-      } else {
-        result = "0.0.0-UNKNOWN";
-      }
-    }
-
-    return result;
+    return Optional.ofNullable(getCachedVersions())
+        .map(Versions::getLatestHalyard)
+        .orElse(unknownVersion);
   }
 
   public String getRunningHalyardVersion() {
@@ -101,17 +95,12 @@ public class VersionsService {
   }
 
   public String getLatestSpinnakerVersion() {
-    String result = concurrentMap.get(latestSpinnakerKey);
-    if (result == null) {
-      Versions versions = getVersions();
-      if (versions != null) {
-        result = versions.getLatestSpinnaker();
-      } else {
-        result = "0.0.0-UNKNOWN";
-      }
-      concurrentMap.put(latestSpinnakerKey, result);
-    }
+    return Optional.ofNullable(getCachedVersions())
+        .map(Versions::getLatestSpinnaker)
+        .orElse(unknownVersion);
+  }
 
-    return result;
+  private Versions getCachedVersions() {
+    return remoteProbeCache.get("versions", "versions.yml", null, latestVersionsTtlMs, this::getVersions, Objects::nonNull);
   }
 }
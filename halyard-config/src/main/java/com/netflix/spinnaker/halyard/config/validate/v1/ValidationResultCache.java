@@ -0,0 +1,147 @@
+/*
+ * Copyright 2018 Google, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License")
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.spinnaker.halyard.config.validate.v1;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import com.netflix.spinnaker.halyard.config.config.v1.StrictObjectMapper;
+import com.netflix.spinnaker.halyard.config.model.v1.node.Node;
+import com.netflix.spinnaker.halyard.config.model.v1.node.Validator;
+import com.netflix.spinnaker.halyard.core.problem.v1.Problem;
+import com.netflix.spinnaker.halyard.core.problem.v1.ProblemSet;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.File;
+import java.lang.reflect.Field;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Remembers the problems each validator reported for a node, keyed by the validator and a fingerprint of the node's
+ * contents (including all of its children) and the local files they reference. When neither has changed since the
+ * validator last ran without errors, its problems can be replayed rather than re-running it, which matters for
+ * validators that make remote calls.
+ *
+ * Only validators that opt in with {@link Validator#isCacheable()} are cached, since a validator that reads other parts
+ * of the config could otherwise replay a result that no longer holds. Remote endpoints can still change, so results
+ * expire after a while, and can always be bypassed by forcing a full validation.
+ */
+@Slf4j
+@Component
+public class ValidationResultCache {
+  @Autowired
+  StrictObjectMapper objectMapper;
+
+  @Value("${validation.resultCache.maxEntries:10000}")
+  long maxEntries;
+
+  @Value("${validation.resultCache.ttlMs:600000}")
+  long ttlMs;
+
+  private volatile Cache<String, ProblemSet> results;
+
+  private Cache<String, ProblemSet> getResults() {
+    if (results == null) {
+      synchronized (this) {
+        if (results == null) {
+          results = CacheBuilder.newBuilder()
+              .maximumSize(maxEntries)
+              .expireAfterWrite(ttlMs, TimeUnit.MILLISECONDS)
+              .build();
+        }
+      }
+    }
+
+    return results;
+  }
+
+  /**
+   * @param node is the node to fingerprint.
+   * @return a hash of the node's type, location, serialized contents and local files, or null if it can't be serialized.
+   */
+  public String fingerprint(Node node) {
+    try {
+      Hasher hasher = Hashing.sha256().newHasher()
+          .putString(node.getClass().getName(), StandardCharsets.UTF_8)
+          .putString(node.getNameToRoot(), StandardCharsets.UTF_8)
+          .putBytes(objectMapper.writeValueAsBytes(node));
+      node.recursiveConsume(n -> putLocalFiles(hasher, n));
+      return hasher.hash().toString();
+    } catch (JsonProcessingException e) {
+      log.warn("Unable to fingerprint node " + node.getNodeName() + ", its validation results won't be cached", e);
+      return null;
+    }
+  }
+
+  /**
+   * @return the problems the validator reported for a node with this fingerprint, or null if it needs to be run.
+   */
+  public ProblemSet get(Class<?> validatorClass, String fingerprint) {
+    return getResults().getIfPresent(key(validatorClass, fingerprint));
+  }
+
+  /**
+   * Records the problems a validator reported. Results with errors are never recorded, so that a failed validation
+   * is always re-run.
+   */
+  public void put(Class<?> validatorClass, String fingerprint, ProblemSet problems) {
+    boolean hasErrors = problems.getProblems()
+        .stream()
+        .anyMatch(p -> p.getSeverity().compareTo(Problem.Severity.WARNING) > 0);
+
+    if (!hasErrors) {
+      getResults().put(key(validatorClass, fingerprint), problems);
+    }
+  }
+
+  /**
+   * Files are identified by their modification time and size rather than read, since most are credentials that only
+   * change when they're replaced.
+   */
+  private static void putLocalFiles(Hasher hasher, Node node) {
+    for (Field field : node.localFiles()) {
+      String path;
+      try {
+        field.setAccessible(true);
+        path = (String) field.get(node);
+      } catch (IllegalAccessException e) {
+        throw new RuntimeException("Failed to read local file " + field.getName() + " of " + node.getNodeName(), e);
+      } finally {
+        field.setAccessible(false);
+      }
+
+      if (path == null) {
+        continue;
+      }
+
+      File file = new File(path);
+      hasher.putString(path, StandardCharsets.UTF_8)
+          .putLong(file.lastModified())
+          .putLong(file.length());
+    }
+  }
+
+  private static String key(Class<?> validatorClass, String fingerprint) {
+    return validatorClass.getName() + ":" + fingerprint;
+  }
+}
@@ -16,21 +16,37 @@
 
 package com.netflix.spinnaker.halyard.config.validate.v1;
 
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.netflix.spinnaker.halyard.config.model.v1.node.Node;
 import com.netflix.spinnaker.halyard.config.model.v1.node.Validator;
 import com.netflix.spinnaker.halyard.config.problem.v1.ConfigProblemSetBuilder;
+import com.netflix.spinnaker.halyard.core.problem.v1.Problem.Severity;
+import com.netflix.spinnaker.halyard.core.problem.v1.ProblemSet;
 import com.netflix.spinnaker.halyard.core.tasks.v1.DaemonTaskHandler;
+import com.netflix.spinnaker.halyard.core.tasks.v1.DaemonTaskInterrupted;
+import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 
 /**
  * This collects all validators that have been defined so far, and tries to apply all matching ones to the input node.
+ *
+ * Which validators apply to which node class is resolved the first time a node of that class is validated, and
+ * remembered from then on, so validating a node is a single lookup followed by direct invocations.
  */
 @Slf4j
 @Component
@@ -38,6 +54,22 @@ public class ValidatorCollection {
   @Autowired(required = false)
   private List<Validator> validators = new ArrayList<>();
 
+  @Autowired(required = false)
+  private ValidationResultCache resultCache;
+
+  @Value("${validation.validatorTimeoutMs:120000}")
+  private long validatorTimeoutMs = 0;
+
+  private final Map<Class<?>, List<ValidatorInvoker>> invokersByNodeClass = new ConcurrentHashMap<>();
+
+  private ScheduledExecutorService timeoutScheduler;
+
+  @AllArgsConstructor
+  private static class ValidatorInvoker {
+    final Validator validator;
+    final Method method;
+  }
+
   /**
    * Runs every validator defined against the given node.
    *
@@ -47,43 +79,185 @@ public class ValidatorCollection {
    * @return # of validators run (for logging purposes).
    */
   public int runAllValidators(ConfigProblemSetBuilder psBuilder, Node node) {
+    return runAllValidators(psBuilder, node, false);
+  }
+
+  /**
+   * Runs every validator defined against the given node, optionally replaying the problems a cacheable validator
+   * reported the last time it successfully validated identical contents instead of running it again.
+   *
+   * @param psBuilder contains the problems encountered during validation so far.
+   * @param node is the node being validated.
+   * @param useCachedResults is true iff unchanged nodes may be skipped.
+   *
+   * @return # of validators run (for logging purposes).
+   */
+  public int runAllValidators(ConfigProblemSetBuilder psBuilder, Node node, boolean useCachedResults) {
     psBuilder.setNode(node);
+    List<ValidatorInvoker> invokers = invokersByNodeClass.computeIfAbsent(node.getClass(), this::resolveInvokers);
+    String fingerprint = null;
+    if (useCachedResults && resultCache != null && invokers.stream().anyMatch(i -> i.validator.isCacheable())) {
+      fingerprint = resultCache.fingerprint(node);
+    }
+
     int validatorRuns = 0;
-    for (Validator validator : validators) {
-      validatorRuns += runMatchingValidators(psBuilder, validator, node, node.getClass()) ? 1 : 0;
+    for (ValidatorInvoker invoker : invokers) {
+      if (fingerprint == null || !invoker.validator.isCacheable()) {
+        validatorRuns += runValidator(psBuilder, invoker, node) ? 1 : 0;
+        continue;
+      }
+
+      Class<?> validatorClass = invoker.validator.getClass();
+      ProblemSet cachedProblems = resultCache.get(validatorClass, fingerprint);
+      if (cachedProblems != null) {
+        log.debug("Re-using prior results of " + validatorClass.getSimpleName() + " for unchanged node " + node.getNodeName());
+        psBuilder.extend(cachedProblems);
+        continue;
+      }
+
+      ConfigProblemSetBuilder validatorBuilder = new ConfigProblemSetBuilder(psBuilder.getContext());
+      validatorBuilder.setNode(node);
+      if (runValidator(validatorBuilder, invoker, node)) {
+        resultCache.put(validatorClass, fingerprint, validatorBuilder.build());
+        validatorRuns++;
+      }
+
+      psBuilder.addAll(validatorBuilder);
     }
 
     return validatorRuns;
   }
 
+  private boolean runValidator(ConfigProblemSetBuilder psBuilder, ValidatorInvoker invoker, Node node) {
+    String validatorName = invoker.validator.getClass().getSimpleName();
+    DaemonTaskHandler.message("Validating " + node.getNodeName() + " with " + validatorName);
+    ValidatorDeadline deadline = validatorTimeoutMs > 0 ? new ValidatorDeadline() : null;
+    Throwable failure = null;
+    try {
+      invoker.method.invoke(invoker.validator, psBuilder, node);
+    } catch (InvocationTargetException e) {
+      failure = e.getCause();
+    } catch (IllegalAccessException e) {
+      throw new RuntimeException("Failed to invoke validate() on \"" + validatorName + "\" for node \"" + node.getClass().getSimpleName(), e);
+    } finally {
+      if (deadline != null) {
+        deadline.finish();
+      }
+    }
+
+    if (failure == null) {
+      return true;
+    }
+
+    if (deadline != null && deadline.expired) {
+      psBuilder.addProblem(Severity.WARNING, "Validator " + validatorName + " did not finish validating "
+          + node.getNodeName() + " within " + validatorTimeoutMs + " millis, so its checks were skipped.");
+    } else {
+      log.warn("Validator " + validatorName + " failed on node " + node.getNodeName(), failure);
+    }
+
+    return false;
+  }
+
   /**
-   * Walk up the object hierarchy, running this validator whenever possible. The idea is, perhaps we were passed a
-   * Kubernetes account, and want to run both the standard Kubernetes account validator to see if the kubeconfig is valid,
-   * as well as the super-classes Account validator to see if the account name is valid.
+   * Interrupts the thread running a validator once it has run for longer than the validator timeout. An interrupt
+   * delivered by this deadline is cleared again once the validator returns, but if the task itself was asked to stop in
+   * the meantime, that's raised rather than lost.
+   */
+  private class ValidatorDeadline implements Runnable {
+    private final Thread thread = Thread.currentThread();
+    private final ScheduledFuture<?> timer;
+    private boolean finished = false;
+    private boolean expired = false;
+
+    ValidatorDeadline() {
+      timer = getTimeoutScheduler().schedule(this, validatorTimeoutMs, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public synchronized void run() {
+      if (!finished) {
+        expired = true;
+        thread.interrupt();
+      }
+    }
+
+    synchronized void finish() {
+      finished = true;
+      timer.cancel(false);
+      if (expired) {
+        Thread.interrupted();
+      }
+
+      if (DaemonTaskHandler.isInterruptRequested()) {
+        throw new DaemonTaskInterrupted("Interrupted while validating");
+      }
+    }
+  }
+
+  private synchronized ScheduledExecutorService getTimeoutScheduler() {
+    if (timeoutScheduler == null) {
+      timeoutScheduler = Executors.newSingleThreadScheduledExecutor(new ThreadFactoryBuilder()
+          .setNameFormat("validator-timeout-%d")
+          .setDaemon(true)
+          .build());
+    }
+
+    return timeoutScheduler;
+  }
+
+  /**
+   * Finds the validate() method of each validator that applies to the given node class, in validator order.
+   *
+   * @param nodeClass is the concrete class of the nodes being validated.
+   *
+   * @return the matching validators, each paired with its most specific validate() method.
+   */
+  private List<ValidatorInvoker> resolveInvokers(Class<?> nodeClass) {
+    List<ValidatorInvoker> result = new ArrayList<>();
+    for (Validator validator : validators) {
+      Method method = findMatchingMethod(validator, nodeClass);
+      if (method != null) {
+        result.add(new ValidatorInvoker(validator, method));
+      }
+    }
+
+    log.info("Resolved " + result.size() + " validators for nodes with class \"" + nodeClass.getSimpleName() + "\"");
+    return result;
+  }
+
+  /**
+   * Walk up the object hierarchy, looking for a validate() method this validator declares for that class. The idea is,
+   * perhaps we were passed a Kubernetes account, and want to run both the standard Kubernetes account validator to see
+   * if the kubeconfig is valid, as well as the super-classes Account validator to see if the account name is valid.
+   *
+   * Compiler-generated bridge methods are ignored, since every validator has one accepting any Node, and invoking it
+   * with a node the validator wasn't written for only fails with a ClassCastException.
    *
-   * @param psBuilder contains the list of problems encountered.
    * @param validator is the validator to be run.
-   * @param node is the subject of validation.
-   * @param c is some super(inclusive) class of node.
+   * @param nodeClass is the class of the node being validated.
    *
-   * @return true iff the validator ran on the node (for logging purposes).
+   * @return the most specific matching validate() method, or null if this validator doesn't apply.
    */
-  private boolean runMatchingValidators(ConfigProblemSetBuilder psBuilder, Validator validator, Node node, Class c) {
-    if (c == Object.class) {
-      return false;
+  private static Method findMatchingMethod(Validator validator, Class<?> nodeClass) {
+    Map<Class<?>, Method> validateMethods = new HashMap<>();
+    for (Method method : validator.getClass().getMethods()) {
+      Class<?>[] params = method.getParameterTypes();
+      if (method.getName().equals("validate")
+          && !method.isBridge()
+          && params.length == 2
+          && params[0] == ConfigProblemSetBuilder.class) {
+        validateMethods.put(params[1], method);
+      }
     }
 
-    try {
-      Method m = validator.getClass().getMethod("validate", ConfigProblemSetBuilder.class, c);
-      DaemonTaskHandler.message("Validating " + node.getNodeName() + " with " + validator.getClass().getSimpleName());
-      m.invoke(validator, psBuilder, node);
-      return true;
-    } catch (InvocationTargetException | NoSuchMethodException e) {
-      // Do nothing, odds are most validators don't validate every class.
-    } catch (IllegalAccessException e) {
-      throw new RuntimeException("Failed to invoke validate() on \"" + validator.getClass().getSimpleName() + "\" for node \"" + c.getSimpleName(), e);
+    for (Class<?> c = nodeClass; c != null && c != Object.class; c = c.getSuperclass()) {
+      Method method = validateMethods.get(c);
+      if (method != null) {
+        return method;
+      }
     }
 
-    return runMatchingValidators(psBuilder, validator, node, c.getSuperclass());
+    return null;
   }
 }
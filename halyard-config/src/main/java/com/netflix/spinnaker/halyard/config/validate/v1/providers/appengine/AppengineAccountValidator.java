@@ -34,6 +34,11 @@ public class AppengineAccountValidator extends Validator<AppengineAccount> {
   @Autowired
   String halyardVersion;
   
+  @Override
+  public boolean isCacheable() {
+    return true;
+  }
+
   @Override
   public void validate(ConfigProblemSetBuilder p, AppengineAccount account) {
     String jsonKey = null;
@@ -18,6 +18,7 @@ package com.netflix.spinnaker.halyard.config.validate.v1.providers.dockerRegistr
 
 import com.netflix.spinnaker.clouddriver.docker.registry.api.v2.client.DockerRegistryCatalog;
 import com.netflix.spinnaker.clouddriver.docker.registry.security.DockerRegistryNamedAccountCredentials;
+import com.netflix.spinnaker.halyard.config.memoize.v1.RemoteProbeCache;
 import com.netflix.spinnaker.halyard.config.model.v1.node.Validator;
 import com.netflix.spinnaker.halyard.config.model.v1.providers.dockerRegistry.DockerRegistryAccount;
 import com.netflix.spinnaker.halyard.config.problem.v1.ConfigProblemBuilder;
@@ -27,6 +28,7 @@ import com.netflix.spinnaker.halyard.core.problem.v1.Problem.Severity;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang3.StringUtils;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
 import java.io.BufferedReader;
@@ -35,6 +37,14 @@ import java.io.InputStreamReader;
 @Component
 @Slf4j
 public class DockerRegistryAccountValidator extends Validator<DockerRegistryAccount> {
+  @Autowired
+  RemoteProbeCache remoteProbeCache;
+
+  @Override
+  public boolean isCacheable() {
+    return true;
+  }
+
   @Override
   public void validate(ConfigProblemSetBuilder p, DockerRegistryAccount n) {
     String resolvedPassword = null;
@@ -124,12 +134,21 @@ public class DockerRegistryAccountValidator extends Validator<DockerRegistryAcco
       return;
     }
 
+    String credentialFingerprint = RemoteProbeCache.fingerprint(n.getUsername(),
+        resolvedPassword,
+        n.getEmail(),
+        n.getDockerconfigFile(),
+        n.getInsecureRegistry());
+
     ConfigProblemBuilder authFailureProblem = null;
     if (n.getRepositories() == null || n.getRepositories().size() == 0) {
       try {
-        DockerRegistryCatalog catalog = credentials.getCredentials().getClient().getCatalog();
+        int repositoryCount = remoteProbeCache.get("dockerRegistryCatalog", n.getAddress(), credentialFingerprint, () -> {
+          DockerRegistryCatalog catalog = credentials.getCredentials().getClient().getCatalog();
+          return catalog.getRepositories() == null ? 0 : catalog.getRepositories().size();
+        });
 
-        if (catalog.getRepositories() == null || catalog.getRepositories().size() == 0) {
+        if (repositoryCount == 0) {
           p.addProblem(Severity.WARNING, "Your docker registry has no repositories specified, and the registry's catalog is empty. Spinnaker will not be able to deploy any images until some are pushed to this registry.")
               .setRemediation("Manually specify some repositories for this docker registry to index.");
         }
@@ -146,7 +165,8 @@ public class DockerRegistryAccountValidator extends Validator<DockerRegistryAcco
         // effectively final
         int tagCount[] = new int[1];
         tagCount[0] = 0;
-        n.getRepositories().forEach(r -> tagCount[0] += credentials.getCredentials().getClient().getTags(r).getTags().size());
+        n.getRepositories().forEach(r -> tagCount[0] += (int) remoteProbeCache.get("dockerRegistryTags", n.getAddress() + "/" + r, credentialFingerprint,
+            () -> credentials.getCredentials().getClient().getTags(r).getTags().size()));
         if (tagCount[0] == 0) {
           p.addProblem(Severity.WARNING, "None of your supplied repositories contain any tags. Spinnaker will not be able to deploy anything.")
               .setRemediation("Push some images to your registry.");
@@ -18,6 +18,7 @@
 package com.netflix.spinnaker.halyard.config.validate.v1.providers.google;
 
 import com.netflix.spinnaker.clouddriver.google.security.GoogleNamedAccountCredentials;
+import com.netflix.spinnaker.halyard.config.memoize.v1.RemoteProbeCache;
 import com.netflix.spinnaker.halyard.config.model.v1.node.Validator;
 import com.netflix.spinnaker.halyard.config.model.v1.providers.google.GoogleBakeryDefaults;
 import com.netflix.spinnaker.halyard.config.model.v1.providers.google.GoogleBaseImage;
@@ -38,6 +39,10 @@ public class GoogleBakeryDefaultsValidator extends Validator<GoogleBakeryDefault
 
   final private String halyardVersion;
 
+  final private RemoteProbeCache remoteProbeCache;
+
+  final private String credentialFingerprint;
+
   @Override
   public void validate(ConfigProblemSetBuilder p, GoogleBakeryDefaults n) {
     DaemonTaskHandler.message("Validating " + n.getNodeName() + " with " + GoogleBakeryDefaultsValidator.class.getSimpleName());
@@ -100,7 +105,7 @@ public class GoogleBakeryDefaultsValidator extends Validator<GoogleBakeryDefault
       }
     }
 
-    GoogleBaseImageValidator googleBaseImageValidator = new GoogleBaseImageValidator(credentialsList, halyardVersion);
+    GoogleBaseImageValidator googleBaseImageValidator = new GoogleBaseImageValidator(credentialsList, halyardVersion, remoteProbeCache, credentialFingerprint);
 
     baseImages.forEach(googleBaseImage -> googleBaseImageValidator.validate(p, googleBaseImage));
   }
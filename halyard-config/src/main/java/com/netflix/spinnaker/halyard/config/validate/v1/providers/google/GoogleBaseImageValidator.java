@@ -26,6 +26,7 @@ import com.google.api.services.compute.Compute;
 import com.google.api.services.compute.model.ImageList;
 import com.google.common.collect.Lists;
 import com.netflix.spinnaker.clouddriver.google.security.GoogleNamedAccountCredentials;
+import com.netflix.spinnaker.halyard.config.memoize.v1.RemoteProbeCache;
 import com.netflix.spinnaker.halyard.config.model.v1.node.Validator;
 import com.netflix.spinnaker.halyard.config.model.v1.providers.google.GoogleBaseImage;
 import com.netflix.spinnaker.halyard.config.problem.v1.ConfigProblemSetBuilder;
@@ -35,7 +36,12 @@ import lombok.EqualsAndHashCode;
 import org.springframework.util.StringUtils;
 
 import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
 
 @EqualsAndHashCode(callSuper = false)
 @Data
@@ -52,6 +58,20 @@ public class GoogleBaseImageValidator extends Validator<GoogleBaseImage> {
 
   final private String halyardVersion;
 
+  final private RemoteProbeCache remoteProbeCache;
+
+  final private String credentialFingerprint;
+
+  /**
+   * The names and families of all images visible to a set of credentials, with any errors hit while listing them.
+   */
+  @Data
+  private static class ImageCatalog {
+    Set<String> names = new HashSet<>();
+    Set<String> families = new HashSet<>();
+    List<String> errors = new ArrayList<>();
+  }
+
   @Override
   public void validate(ConfigProblemSetBuilder p, GoogleBaseImage n) {
     String sourceImage = n.getVirtualizationSettings().getSourceImage();
@@ -62,116 +82,86 @@ public class GoogleBaseImageValidator extends Validator<GoogleBaseImage> {
     }
 
     if (!StringUtils.isEmpty(sourceImage)) {
-      int i = 0;
-      boolean[] foundSourceImageHolder = new boolean[1];
-
-      while (!foundSourceImageHolder[0] && i < credentialsList.size()) {
-        GoogleNamedAccountCredentials credentials = credentialsList.get(i);
-        List<String> imageProjects = Lists.newArrayList(credentials.getProject());
-
-        imageProjects.addAll(credentials.getImageProjects());
-        imageProjects.addAll(baseImageProjects);
-
-        Compute compute = credentials.getCompute();
-        BatchRequest imageListBatch = buildBatchRequest(compute);
-        JsonBatchCallback<ImageList> imageListCallback = new JsonBatchCallback<ImageList>() {
-          @Override
-          public void onFailure(GoogleJsonError e, HttpHeaders responseHeaders) throws IOException {
-            p.addProblem(Problem.Severity.ERROR, "Error locating " + sourceImage + " in these projects: " + imageProjects + ": " + e.getMessage() + ".");
-          }
-
-          @Override
-          public void onSuccess(ImageList imageList, HttpHeaders responseHeaders) throws IOException {
-            // No need to look through these images if the requested image was already found.
-            if (!foundSourceImageHolder[0]) {
-              if (imageList.getItems() != null) {
-                foundSourceImageHolder[0] =
-                  imageList
-                    .getItems()
-                    .stream()
-                    .filter(image -> image.getName().equals(sourceImage))
-                    .findFirst()
-                    .isPresent();
-              }
-            }
-          }
-        };
+      boolean foundSourceImage = findInCatalogs(p, sourceImage, ImageCatalog::getNames);
 
-        try {
-          for (String imageProject : imageProjects) {
-            compute.images().list(imageProject).queue(imageListBatch, imageListCallback);
-          }
+      if (!foundSourceImage) {
+        p.addProblem(Problem.Severity.ERROR, "Image " + sourceImage + " not found via any configured google account.");
+      }
+    }
 
-          imageListBatch.execute();
-        } catch (IOException e) {
-          p.addProblem(Problem.Severity.ERROR, "Error locating " + sourceImage + " in these projects: " + imageProjects + ": " + e.getMessage() + ".");
-        }
+    if (!StringUtils.isEmpty(sourceImageFamily)) {
+      boolean foundSourceImageFamily = findInCatalogs(p, sourceImageFamily, ImageCatalog::getFamilies);
 
-        i++;
+      if (!foundSourceImageFamily) {
+        p.addProblem(Problem.Severity.ERROR, "Image family " + sourceImageFamily + " not found via any configured google account.");
       }
+    }
 
-      if (!foundSourceImageHolder[0]) {
-        p.addProblem(Problem.Severity.ERROR, "Image " + sourceImage + " not found via any configured google account.");
-      }
+    if (StringUtils.isEmpty(n.getBaseImage().getPackageType())) {
+      p.addProblem(Problem.Severity.ERROR, "Package type must be specified for " + n.getBaseImage().getId() + ".");
     }
+  }
 
-    if (!StringUtils.isEmpty(sourceImageFamily)) {
-      int i = 0;
-      boolean[] foundSourceImageFamilyHolder = new boolean[1];
-
-      while (!foundSourceImageFamilyHolder[0] && i < credentialsList.size()) {
-        GoogleNamedAccountCredentials credentials = credentialsList.get(i);
-        List<String> imageProjects = Lists.newArrayList(credentials.getProject());
-
-        imageProjects.addAll(credentials.getImageProjects());
-        imageProjects.addAll(baseImageProjects);
-
-        Compute compute = credentials.getCompute();
-        BatchRequest imageListBatch = buildBatchRequest(compute);
-        JsonBatchCallback<ImageList> imageListCallback = new JsonBatchCallback<ImageList>() {
-          @Override
-          public void onFailure(GoogleJsonError e, HttpHeaders responseHeaders) throws IOException {
-            p.addProblem(Problem.Severity.ERROR, "Error locating " + sourceImageFamily + " in these projects: " + imageProjects + ": " + e.getMessage() + ".");
-          }
-
-          @Override
-          public void onSuccess(ImageList imageList, HttpHeaders responseHeaders) throws IOException {
-            // No need to look through these images if the requested image family was already found.
-            if (!foundSourceImageFamilyHolder[0]) {
-              if (imageList.getItems() != null) {
-                foundSourceImageFamilyHolder[0] =
-                  imageList
-                    .getItems()
-                    .stream()
-                    .filter(image -> sourceImageFamily.equals(image.getFamily()))
-                    .findFirst()
-                    .isPresent();
-              }
-            }
-          }
-        };
+  private boolean findInCatalogs(ConfigProblemSetBuilder p, String name, Function<ImageCatalog, Set<String>> candidates) {
+    for (GoogleNamedAccountCredentials credentials : credentialsList) {
+      List<String> imageProjects = Lists.newArrayList(credentials.getProject());
+
+      imageProjects.addAll(credentials.getImageProjects());
+      imageProjects.addAll(baseImageProjects);
 
-        try {
-          for (String imageProject : imageProjects) {
-            compute.images().list(imageProject).queue(imageListBatch, imageListCallback);
-          }
+      try {
+        ImageCatalog catalog = remoteProbeCache.get("googleImages",
+            credentials.getProject() + ":" + String.join(",", imageProjects),
+            credentialFingerprint,
+            () -> listImages(credentials.getCompute(), imageProjects),
+            c -> c.getErrors().isEmpty());
 
-          imageListBatch.execute();
-        } catch (IOException e) {
-          p.addProblem(Problem.Severity.ERROR, "Error locating " + sourceImageFamily + " in these projects: " + imageProjects + ": " + e.getMessage() + ".");
+        catalog.getErrors().forEach(e -> p.addProblem(Problem.Severity.ERROR, "Error locating " + name + " in these projects: " + imageProjects + ": " + e + "."));
+
+        if (candidates.apply(catalog).contains(name)) {
+          return true;
         }
+      } catch (UncheckedIOException e) {
+        p.addProblem(Problem.Severity.ERROR, "Error locating " + name + " in these projects: " + imageProjects + ": " + e.getCause().getMessage() + ".");
+      }
+    }
+
+    return false;
+  }
 
-        i++;
+  private ImageCatalog listImages(Compute compute, List<String> imageProjects) {
+    ImageCatalog catalog = new ImageCatalog();
+    BatchRequest imageListBatch = buildBatchRequest(compute);
+    JsonBatchCallback<ImageList> imageListCallback = new JsonBatchCallback<ImageList>() {
+      @Override
+      public void onFailure(GoogleJsonError e, HttpHeaders responseHeaders) throws IOException {
+        catalog.getErrors().add(e.getMessage());
       }
 
-      if (!foundSourceImageFamilyHolder[0]) {
-        p.addProblem(Problem.Severity.ERROR, "Image family " + sourceImageFamily + " not found via any configured google account.");
+      @Override
+      public void onSuccess(ImageList imageList, HttpHeaders responseHeaders) throws IOException {
+        if (imageList.getItems() != null) {
+          imageList.getItems().forEach(image -> {
+            catalog.getNames().add(image.getName());
+            if (image.getFamily() != null) {
+              catalog.getFamilies().add(image.getFamily());
+            }
+          });
+        }
       }
-    }
+    };
 
-    if (StringUtils.isEmpty(n.getBaseImage().getPackageType())) {
-      p.addProblem(Problem.Severity.ERROR, "Package type must be specified for " + n.getBaseImage().getId() + ".");
+    try {
+      for (String imageProject : imageProjects) {
+        compute.images().list(imageProject).queue(imageListBatch, imageListCallback);
+      }
+
+      imageListBatch.execute();
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
     }
+
+    return catalog;
   }
 
   private BatchRequest buildBatchRequest(Compute compute) {
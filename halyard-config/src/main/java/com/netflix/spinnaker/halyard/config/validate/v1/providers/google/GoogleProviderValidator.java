@@ -17,12 +17,14 @@
 package com.netflix.spinnaker.halyard.config.validate.v1.providers.google;
 
 import com.netflix.spinnaker.clouddriver.google.security.GoogleNamedAccountCredentials;
+import com.netflix.spinnaker.halyard.config.memoize.v1.RemoteProbeCache;
 import com.netflix.spinnaker.halyard.config.model.v1.node.Validator;
 import com.netflix.spinnaker.halyard.config.model.v1.providers.google.GoogleProvider;
 import com.netflix.spinnaker.halyard.config.problem.v1.ConfigProblemSetBuilder;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
+import java.io.File;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -31,6 +33,9 @@ public class GoogleProviderValidator extends Validator<GoogleProvider> {
   @Autowired
   private String halyardVersion;
 
+  @Autowired
+  private RemoteProbeCache remoteProbeCache;
+
   @Override
   public void validate(ConfigProblemSetBuilder p, GoogleProvider n) {
     List<GoogleNamedAccountCredentials> credentialsList = new ArrayList<>();
@@ -39,6 +44,12 @@ public class GoogleProviderValidator extends Validator<GoogleProvider> {
 
     n.getAccounts().forEach(googleAccount -> googleAccountValidator.validate(p, googleAccount));
 
-    new GoogleBakeryDefaultsValidator(credentialsList, halyardVersion).validate(p, n.getBakeryDefaults());
+    // Key files are fingerprinted by path and modification time, so that a rotated key is never served stale results.
+    String credentialFingerprint = RemoteProbeCache.fingerprint(n.getAccounts()
+        .stream()
+        .map(a -> String.join(":", a.getProject(), a.getJsonPath(), a.getJsonPath() == null ? "" : Long.toString(new File(a.getJsonPath()).lastModified())))
+        .toArray());
+
+    new GoogleBakeryDefaultsValidator(credentialsList, halyardVersion, remoteProbeCache, credentialFingerprint).validate(p, n.getBakeryDefaults());
   }
 }
@@ -17,6 +17,7 @@
 package com.netflix.spinnaker.halyard.config.validate.v1.providers.kubernetes;
 
 import com.netflix.spinnaker.clouddriver.kubernetes.v1.security.KubernetesConfigParser;
+import com.netflix.spinnaker.halyard.config.memoize.v1.RemoteProbeCache;
 import com.netflix.spinnaker.halyard.config.model.v1.node.DeploymentConfiguration;
 import com.netflix.spinnaker.halyard.config.model.v1.node.Node;
 import com.netflix.spinnaker.halyard.config.model.v1.node.Provider;
@@ -38,12 +39,14 @@ import io.fabric8.kubernetes.client.KubernetesClient;
 import io.fabric8.kubernetes.client.internal.KubeConfigUtils;
 import org.apache.commons.collections.CollectionUtils;
 import org.apache.commons.lang3.StringUtils;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
 import java.io.File;
 import java.io.IOException;
 import java.util.Collections;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
@@ -55,6 +58,9 @@ import static com.netflix.spinnaker.halyard.core.problem.v1.Problem.Severity.WAR
 
 @Component
 public class KubernetesAccountValidator extends Validator<KubernetesAccount> {
+  @Autowired
+  RemoteProbeCache remoteProbeCache;
+
   @Override
   public void validate(ConfigProblemSetBuilder psBuilder, KubernetesAccount account) {
     DeploymentConfiguration deploymentConfiguration;
@@ -138,6 +144,7 @@ public class KubernetesAccountValidator extends Validator<KubernetesAccount> {
 
   private void validateKubeconfig(ConfigProblemSetBuilder psBuilder, KubernetesAccount account) {
     io.fabric8.kubernetes.api.model.Config kubeconfig;
+    String kubeconfigContents;
     String context = account.getContext();
     String kubeconfigFile = account.getKubeconfigFile();
     String cluster = account.getCluster();
@@ -159,7 +166,8 @@ public class KubernetesAccountValidator extends Validator<KubernetesAccount> {
 
     // TODO(lwander) find a good resource / list of resources for generating kubeconfig files to link to here.
     try {
-      if (ValidatingFileReader.contents(psBuilder, kubeconfigFile) == null) {
+      kubeconfigContents = ValidatingFileReader.contents(psBuilder, kubeconfigFile);
+      if (kubeconfigContents == null) {
         return;
       }
 
@@ -198,9 +206,13 @@ public class KubernetesAccountValidator extends Validator<KubernetesAccount> {
     if (smoketest) {
       Config config = KubernetesConfigParser.parse(kubeconfigFile, context, cluster, user, namespaces, false);
       try {
-        KubernetesClient client = new DefaultKubernetesClient(config);
+        String endpoint = String.join("/", kubeconfigFile, Objects.toString(context), Objects.toString(cluster), Objects.toString(user));
+        remoteProbeCache.get("kubernetesNamespaces", endpoint, RemoteProbeCache.fingerprint(kubeconfigContents), () -> {
+          KubernetesClient client = new DefaultKubernetesClient(config);
 
-        client.namespaces().list();
+          client.namespaces().list();
+          return true;
+        });
       } catch (Exception e) {
         ConfigProblemBuilder pb = psBuilder.addProblem(ERROR, "Unable to communicate with your Kubernetes cluster: " + e.getMessage() + ".");
 
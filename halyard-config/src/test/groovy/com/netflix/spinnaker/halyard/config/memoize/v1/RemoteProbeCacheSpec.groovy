@@ -0,0 +1,94 @@
+/*
+ * Copyright 2018 Google, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License")
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.spinnaker.halyard.config.memoize.v1
+
+import spock.lang.Specification
+
+import java.util.function.Supplier
+
+class RemoteProbeCacheSpec extends Specification {
+  RemoteProbeCache cache
+
+  void setup() {
+    cache = new RemoteProbeCache()
+    cache.maxEntries = 10
+    cache.ttlMs = 60000
+    cache.failureTtlMs = 0
+  }
+
+  void "only runs a probe once per endpoint and credential"() {
+    setup:
+    def calls = 0
+    Supplier<Integer> loader = { calls++; 5 }
+
+    when:
+    def first = cache.get("probe", "endpoint", "a", loader)
+    def second = cache.get("probe", "endpoint", "a", loader)
+
+    then:
+    first == 5
+    second == 5
+    calls == 1
+
+    when:
+    cache.get("probe", "endpoint", "b", loader)
+
+    then:
+    calls == 2
+  }
+
+  void "remembers failures until the failure ttl expires"() {
+    setup:
+    cache.failureTtlMs = 60000
+    def calls = 0
+    Supplier<Integer> loader = { calls++; throw new IllegalStateException("unreachable") }
+
+    when:
+    cache.get("probe", "endpoint", "a", loader)
+
+    then:
+    thrown(IllegalStateException)
+
+    when:
+    cache.get("probe", "endpoint", "a", loader)
+
+    then:
+    IllegalStateException e = thrown()
+    e.message == "unreachable"
+    calls == 1
+  }
+
+  void "keeps incomplete results no longer than failures"() {
+    setup:
+    def calls = 0
+    Supplier<Integer> loader = { calls++; null }
+
+    when:
+    cache.get("probe", "endpoint", "a", loader, { it != null })
+    cache.get("probe", "endpoint", "a", loader, { it != null })
+
+    then:
+    calls == 2
+  }
+
+  void "fingerprints differ with credentials"() {
+    expect:
+    RemoteProbeCache.fingerprint("user", "password") == RemoteProbeCache.fingerprint("user", "password")
+    RemoteProbeCache.fingerprint("user", "password") != RemoteProbeCache.fingerprint("user", "password ")
+    RemoteProbeCache.fingerprint("ab", "c") != RemoteProbeCache.fingerprint("a", "bc")
+  }
+}
@@ -104,6 +104,24 @@ class NodeSpec extends Specification {
     }
   }
 
+  void "reflective iterator skips null child nodes"() {
+    setup:
+    def node = new TestNode()
+    node.node2 = null
+    def iterator = node.getChildren()
+
+    when:
+    def names = []
+    def child = iterator.getNext()
+    while (child != null) {
+      names << child.nodeName
+      child = iterator.getNext()
+    }
+
+    then:
+    names.sort() == ["n1", "n3"]
+  }
+
   void "node correctly provides list iterator"() {
     setup:
     def node = new ChildTestNode()
@@ -0,0 +1,92 @@
+/*
+ * Copyright 2018 Google, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License")
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.spinnaker.halyard.config.validate.v1
+
+import com.netflix.spinnaker.halyard.config.config.v1.StrictObjectMapper
+import com.netflix.spinnaker.halyard.config.model.v1.node.DeploymentConfiguration
+import com.netflix.spinnaker.halyard.config.model.v1.providers.dockerRegistry.DockerRegistryAccount
+import com.netflix.spinnaker.halyard.core.problem.v1.Problem
+import com.netflix.spinnaker.halyard.core.problem.v1.ProblemSet
+import spock.lang.Specification
+
+class ValidationResultCacheSpec extends Specification {
+  ValidationResultCache cache
+
+  void setup() {
+    cache = new ValidationResultCache()
+    cache.objectMapper = new StrictObjectMapper()
+    cache.maxEntries = 10
+    cache.ttlMs = 60000
+  }
+
+  void "fingerprint changes with node contents"() {
+    setup:
+    def a = new DeploymentConfiguration().setName("a").setVersion("1.0.0")
+    def b = new DeploymentConfiguration().setName("a").setVersion("1.0.0")
+
+    when:
+    def before = cache.fingerprint(a)
+
+    then:
+    before == cache.fingerprint(b)
+
+    when:
+    b.setVersion("1.1.0")
+
+    then:
+    before != cache.fingerprint(b)
+  }
+
+  void "fingerprint changes with referenced local files"() {
+    setup:
+    def passwordFile = File.createTempFile("password", ".txt")
+    passwordFile.deleteOnExit()
+    passwordFile.text = "a"
+    def account = new DockerRegistryAccount().setPasswordFile(passwordFile.absolutePath)
+
+    when:
+    def before = cache.fingerprint(account)
+    passwordFile.text = "changed"
+
+    then:
+    before != cache.fingerprint(account)
+  }
+
+  void "replays results without errors"() {
+    setup:
+    def warning = new Problem("warning", null, null, Problem.Severity.WARNING, "a")
+
+    when:
+    cache.put(String, "fingerprint", new ProblemSet(warning))
+
+    then:
+    cache.get(String, "fingerprint").problems == [warning]
+    cache.get(Integer, "fingerprint") == null
+    cache.get(String, "other") == null
+  }
+
+  void "never records results with errors"() {
+    setup:
+    def error = new Problem("error", null, null, Problem.Severity.ERROR, "a")
+
+    when:
+    cache.put(String, "fingerprint", new ProblemSet(error))
+
+    then:
+    cache.get(String, "fingerprint") == null
+  }
+}
@@ -0,0 +1,255 @@
+/*
+ * Copyright 2018 Google, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License")
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.spinnaker.halyard.core.job.v1;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+/**
+ * Captures a job's output without holding all of it in memory: only the first and last bytes written are kept, and
+ * everything in between is dropped. When a spill file is supplied, the full output is also written there.
+ *
+ * The head and tail buffers start small and grow as output arrives, so short-lived jobs with little output don't pay
+ * for the full limits up front.
+ *
+ * Wherever output has been dropped, {@link #toByteArray()} and {@link #readFrom(long)} both put a marker in its place
+ * saying how many bytes are missing. The one difference is that readFrom reads dropped bytes back from the spill file
+ * when there is one, while toByteArray only ever returns what's held in memory.
+ *
+ * This extends ByteArrayOutputStream so it can be handed to anything that captures job output today, but none of
+ * ByteArrayOutputStream's own buffer is used.
+ */
+@Slf4j
+public class BoundedOutputStream extends ByteArrayOutputStream {
+  public static final int DEFAULT_HEAD_BYTES = 64 * 1024;
+  public static final int DEFAULT_TAIL_BYTES = 256 * 1024;
+  private static final int INITIAL_BUFFER_BYTES = 1024;
+
+  private final int headBytes;
+  private final int tailBytes;
+  private byte[] head = new byte[0];
+  private int headCount;
+  private byte[] tail = new byte[0];
+  private long total;
+
+  private final Path spillFile;
+  private OutputStream spill;
+  // Whether the spill file holds everything written so far, and can still be read after it's closed.
+  private boolean spillComplete;
+
+  public BoundedOutputStream() {
+    this(null);
+  }
+
+  /**
+   * @param spillFile is where to write the full output, or null to only keep the head and tail.
+   */
+  public BoundedOutputStream(Path spillFile) {
+    this(DEFAULT_HEAD_BYTES, DEFAULT_TAIL_BYTES, spillFile);
+  }
+
+  public BoundedOutputStream(int headBytes, int tailBytes, Path spillFile) {
+    super(0);
+    this.headBytes = headBytes;
+    this.tailBytes = Math.max(tailBytes, 1);
+    this.spillFile = spillFile;
+
+    if (spillFile != null) {
+      try {
+        spill = new BufferedOutputStream(Files.newOutputStream(spillFile));
+        spillComplete = true;
+      } catch (IOException e) {
+        log.warn("Unable to write job output to " + spillFile + ", only part of it will be kept", e);
+      }
+    }
+  }
+
+  /**
+   * @return the file holding the full output, or null if there is none.
+   */
+  public synchronized Path getSpillFile() {
+    return spillComplete ? spillFile : null;
+  }
+
+  /**
+   * @return the total number of bytes written, including any no longer held in memory.
+   */
+  public synchronized long getTotal() {
+    return total;
+  }
+
+  @Override
+  public synchronized void write(int b) {
+    write(new byte[] { (byte) b }, 0, 1);
+  }
+
+  @Override
+  public synchronized void write(byte[] b, int off, int len) {
+    for (int i = 0; i < len; i++) {
+      byte next = b[off + i];
+      if (headCount < headBytes) {
+        if (headCount == head.length) {
+          head = grow(head, headBytes);
+        }
+
+        head[headCount++] = next;
+      } else {
+        long position = total - headBytes;
+        if (position == tail.length && position < tailBytes) {
+          tail = grow(tail, tailBytes);
+        }
+
+        tail[(int) (position % tailBytes)] = next;
+      }
+
+      total++;
+    }
+
+    if (spill != null) {
+      try {
+        spill.write(b, off, len);
+      } catch (IOException e) {
+        log.warn("Failed writing job output to " + spillFile + ", only part of it will be kept", e);
+        spillComplete = false;
+        closeSpill();
+      }
+    }
+  }
+
+  /**
+   * Reads the output written from the given offset onwards, so that a caller can follow a job's output without
+   * copying all of it each time. Bytes that are no longer held in memory are read back from the spill file, or skipped
+   * and replaced by the same marker {@link #toByteArray()} uses if there isn't one.
+   *
+   * @param offset is the number of bytes of output already read.
+   * @return the bytes written since offset.
+   */
+  public synchronized byte[] readFrom(long offset) {
+    if (offset >= total) {
+      return new byte[0];
+    }
+
+    if (spillComplete && offset < tailStart()) {
+      try {
+        flush();
+        try (RandomAccessFile file = new RandomAccessFile(spillFile.toFile(), "r")) {
+          byte[] result = new byte[(int) (total - offset)];
+          file.seek(offset);
+          file.readFully(result);
+          return result;
+        }
+      } catch (IOException e) {
+        log.warn("Failed reading job output from " + spillFile + ", only part of it will be returned", e);
+      }
+    }
+
+    return readMemory(offset);
+  }
+
+  /**
+   * @return the output held in memory, with a marker in place of any output that was dropped.
+   */
+  @Override
+  public synchronized byte[] toByteArray() {
+    return readMemory(0);
+  }
+
+  @Override
+  public synchronized int size() {
+    return (int) Math.min(Integer.MAX_VALUE, total);
+  }
+
+  @Override
+  public synchronized String toString() {
+    return new String(toByteArray());
+  }
+
+  @Override
+  public synchronized void writeTo(OutputStream out) throws IOException {
+    out.write(toByteArray());
+  }
+
+  @Override
+  public synchronized void reset() {
+    headCount = 0;
+    total = 0;
+  }
+
+  @Override
+  public synchronized void flush() throws IOException {
+    if (spill != null) {
+      spill.flush();
+    }
+  }
+
+  @Override
+  public synchronized void close() {
+    closeSpill();
+  }
+
+  private long tailStart() {
+    return Math.max(headCount, total - tailBytes);
+  }
+
+  private byte[] readMemory(long offset) {
+    ByteArrayOutputStream result = new ByteArrayOutputStream();
+    if (offset < headCount) {
+      result.write(head, (int) offset, headCount - (int) offset);
+    }
+
+    long omitted = tailStart() - Math.max(offset, headCount);
+    if (omitted > 0) {
+      String marker = "\n[... " + omitted + " bytes omitted"
+          + (getSpillFile() != null ? ", see " + spillFile : "")
+          + " ...]\n";
+      byte[] markerBytes = marker.getBytes(StandardCharsets.UTF_8);
+      result.write(markerBytes, 0, markerBytes.length);
+    }
+
+    for (long i = Math.max(offset, tailStart()); i < total; i++) {
+      result.write(tail[(int) ((i - headBytes) % tailBytes)]);
+    }
+
+    return result.toByteArray();
+  }
+
+  private static byte[] grow(byte[] buffer, int limit) {
+    int size = Math.min(limit, Math.max(INITIAL_BUFFER_BYTES, buffer.length * 2));
+    return Arrays.copyOf(buffer, size);
+  }
+
+  private void closeSpill() {
+    if (spill != null) {
+      try {
+        spill.close();
+      } catch (IOException e) {
+        log.warn("Failed closing job output file " + spillFile, e);
+      }
+
+      spill = null;
+    }
+  }
+}
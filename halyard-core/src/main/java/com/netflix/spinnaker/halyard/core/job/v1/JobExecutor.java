@@ -23,6 +23,8 @@ import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 
 //TODO(lwander) unify with original job executor: https://github.com/spinnaker/rosco/blob/bf718907888a7d95a0da6e21ec0e00c0709c4e19/rosco-core/src/main/groovy/com/netflix/spinnaker/rosco/jobs/JobExecutor.groovy
 public abstract class JobExecutor {
@@ -32,6 +34,17 @@ public abstract class JobExecutor {
 
   abstract public JobStatus updateJob(String jobId);
 
+  /**
+   * Like updateJob, but only returns the output written after the given offsets, taken from a previous status.
+   */
+  abstract public JobStatus updateJob(String jobId, long stdOutOffset, long stdErrOffset);
+
+  /**
+   * @return a future completed with the job's final status as soon as it exits. Once it completes, the job is no
+   * longer tracked and can't be polled with updateJob.
+   */
+  abstract public CompletableFuture<JobStatus> awaitJob(String jobId);
+
   abstract public void cancelJob(String jobId);
 
   abstract public void cancelAllJobs();
@@ -42,8 +55,8 @@ public abstract class JobExecutor {
 
   public String startJob(JobRequest jobRequest) {
     InputStream stdIn = new ByteArrayInputStream("".getBytes());
-    ByteArrayOutputStream stdOut = new ByteArrayOutputStream();
-    ByteArrayOutputStream stdErr = new ByteArrayOutputStream();
+    ByteArrayOutputStream stdOut = new BoundedOutputStream();
+    ByteArrayOutputStream stdErr = new BoundedOutputStream();
     return startJob(jobRequest, System.getenv(), stdIn, stdOut, stdErr);
   }
 
@@ -54,21 +67,23 @@ public abstract class JobExecutor {
     return startJob(jobRequest, System.getenv(), stdIn, stdOut, stdErr);
   }
 
-  public JobStatus backoffWait(String jobId) throws InterruptedException {
-    return backoffWait(jobId, 100, 1000);
+  public CompletableFuture<JobStatus> startJobAsync(JobRequest jobRequest) {
+    return awaitJob(startJob(jobRequest));
   }
 
-  public JobStatus backoffWait(String jobId, long minWaitMillis, long maxWaitMillis) throws InterruptedException {
-    JobStatus result = updateJob(jobId);
-    long waitTime = minWaitMillis;
-    while (result == null || result.getState() == JobStatus.State.RUNNING) {
-      Thread.sleep(waitTime);
+  public CompletableFuture<JobStatus> startJobAsync(JobRequest jobRequest, Map<String, String> env, InputStream stdIn, ByteArrayOutputStream stdOut, ByteArrayOutputStream stdErr) {
+    return awaitJob(startJob(jobRequest, env, stdIn, stdOut, stdErr));
+  }
 
-      waitTime <<= 1;
-      waitTime = Math.min(maxWaitMillis, waitTime);
-      result = updateJob(jobId);
+  /**
+   * Blocks until the job exits.
+   */
+  public JobStatus backoffWait(String jobId) throws InterruptedException {
+    try {
+      return awaitJob(jobId).get();
+    } catch (ExecutionException e) {
+      Throwable cause = e.getCause();
+      throw cause instanceof RuntimeException ? (RuntimeException) cause : new RuntimeException(cause);
     }
-
-    return result;
   }
 }
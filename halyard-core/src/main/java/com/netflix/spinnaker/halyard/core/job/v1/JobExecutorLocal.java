@@ -17,6 +17,8 @@
 
 package com.netflix.spinnaker.halyard.core.job.v1;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import lombok.Data;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.exec.*;
@@ -27,9 +29,12 @@ import rx.schedulers.Schedulers;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.file.Path;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.TimeUnit;
 
 @Slf4j
 public class JobExecutorLocal extends JobExecutor {
@@ -39,6 +44,15 @@ public class JobExecutorLocal extends JobExecutor {
 
   private Set<String> pendingJobSet = new ConcurrentSkipListSet<>();
 
+  private Map<String, CompletableFuture<JobStatus>> jobIdToCompletionMap = new ConcurrentHashMap<>();
+
+  // The final status of jobs that have exited, kept for a while so that callers polling for their result still find it.
+  // Only the status is kept, since it holds no more output than the head and tail of what the job wrote.
+  private Cache<String, JobStatus> completedJobs = CacheBuilder.newBuilder()
+      .maximumSize(256)
+      .expireAfterWrite(10, TimeUnit.MINUTES)
+      .build();
+
   @Override
   public String startJob(JobRequest jobRequest, Map<String, String> env, InputStream stdIn, ByteArrayOutputStream stdOut, ByteArrayOutputStream stdErr) {
     List<String> tokenizedCommand = jobRequest.getTokenizedCommand();
@@ -53,6 +67,8 @@ public class JobExecutorLocal extends JobExecutor {
     String jobId = UUID.randomUUID().toString();
 
     pendingJobSet.add(jobId);
+    CompletableFuture<JobStatus> completion = new CompletableFuture<>();
+    jobIdToCompletionMap.put(jobId, completion);
 
     log.info("Scheduling job " + jobRequest.getTokenizedCommand() + " with id " + jobId);
 
@@ -73,7 +89,20 @@ public class JobExecutorLocal extends JobExecutor {
 
             commandLine.addArguments(arguments, false);
 
-            DefaultExecuteResultHandler resultHandler = new DefaultExecuteResultHandler();
+            // Completes the job's future as soon as the process exits and its output has been drained.
+            DefaultExecuteResultHandler resultHandler = new DefaultExecuteResultHandler() {
+              @Override
+              public void onProcessComplete(int exitValue) {
+                super.onProcessComplete(exitValue);
+                completed(jobId, completion, completedStatus(jobId, stdOut, stdErr, exitValue));
+              }
+
+              @Override
+              public void onProcessFailed(ExecuteException e) {
+                super.onProcessFailed(e);
+                completed(jobId, completion, completedStatus(jobId, stdOut, stdErr, e.getExitValue()));
+              }
+            };
             ExecuteWatchdog watchdog = new ExecuteWatchdog(timeoutMillis) {
               @Override
               public void timeoutOccured(Watchdog w) {
@@ -92,24 +121,24 @@ public class JobExecutorLocal extends JobExecutor {
             Executor executor = new DefaultExecutor();
             executor.setStreamHandler(pumpStreamHandler);
             executor.setWatchdog(watchdog);
-            try {
-              executor.execute(commandLine, env, resultHandler);
-            } catch (IOException e) {
-              throw new RuntimeException("Execution of " + jobId + " failed ", e);
-            }
-
-            // Give the job some time to spin up.
-            try {
-              Thread.sleep(500);
-            } catch (InterruptedException ignored) {
-            }
 
+            // Registered before the process starts, since a fast job may exit before execute() returns.
             jobIdToHandlerMap.put(jobId, new ExecutionHandler()
                 .setResultHandler(resultHandler)
                 .setWatchdog(watchdog)
                 .setStdOut(stdOut)
                 .setStdErr(stdErr));
 
+            try {
+              executor.execute(commandLine, env, resultHandler);
+            } catch (IOException e) {
+              pendingJobSet.remove(jobId);
+              jobIdToHandlerMap.remove(jobId);
+              jobIdToCompletionMap.remove(jobId);
+              completion.completeExceptionally(new RuntimeException("Execution of " + jobId + " failed ", e));
+              return;
+            }
+
             if (pendingJobSet.contains(jobId)) {
               pendingJobSet.remove(jobId);
             } else {
@@ -131,6 +160,55 @@ public class JobExecutorLocal extends JobExecutor {
     ByteArrayOutputStream stdErr;
   }
 
+  /**
+   * Stops tracking a job once it exits, whether or not anyone awaits or polls it, and completes its future.
+   */
+  private void completed(String jobId, CompletableFuture<JobStatus> completion, JobStatus status) {
+    // Recorded as completed before it's untracked, so a concurrent poll finds it in one place or the other.
+    completedJobs.put(jobId, status);
+    jobIdToHandlerMap.remove(jobId);
+    jobIdToCompletionMap.remove(jobId);
+    completion.complete(status);
+  }
+
+  private static JobStatus completedStatus(String jobId, ByteArrayOutputStream stdOut, ByteArrayOutputStream stdErr, int exitValue) {
+    log.info(jobId + " has terminated with exit code " + exitValue);
+    JobStatus jobStatus = new JobStatus().setId(jobId)
+        .setState(JobStatus.State.COMPLETED)
+        .setResult(exitValue == 0 ? JobStatus.Result.SUCCESS : JobStatus.Result.FAILURE);
+
+    try {
+      stdOut.flush();
+      stdErr.flush();
+    } catch (IOException e) {
+      log.warn("Failed to flush output of " + jobId, e);
+    }
+
+    setOutput(jobStatus, stdOut, stdErr, null, null);
+    return jobStatus;
+  }
+
+  @Override
+  public CompletableFuture<JobStatus> awaitJob(String jobId) {
+    CompletableFuture<JobStatus> completion = jobIdToCompletionMap.get(jobId);
+    if (completion == null) {
+      JobStatus status = updateJob(jobId);
+      if (status != null && status.getState() == JobStatus.State.COMPLETED) {
+        return CompletableFuture.completedFuture(status);
+      }
+
+      CompletableFuture<JobStatus> unknown = new CompletableFuture<>();
+      unknown.completeExceptionally(new IllegalArgumentException("No job with id " + jobId + " is being tracked"));
+      return unknown;
+    }
+
+    // Whoever awaits the job receives its final status, so nothing needs to be kept around for polling.
+    return completion.whenComplete((status, e) -> {
+      jobIdToHandlerMap.remove(jobId);
+      jobIdToCompletionMap.remove(jobId);
+    });
+  }
+
   @Override
   public boolean jobExists(String jobId) {
     return jobIdToHandlerMap.containsKey(jobId) || pendingJobSet.contains(jobId);
@@ -138,12 +216,21 @@ public class JobExecutorLocal extends JobExecutor {
 
   @Override
   public JobStatus updateJob(String jobId) {
+    return updateJob(jobId, null, null);
+  }
+
+  @Override
+  public JobStatus updateJob(String jobId, long stdOutOffset, long stdErrOffset) {
+    return updateJob(jobId, (Long) stdOutOffset, (Long) stdErrOffset);
+  }
+
+  private JobStatus updateJob(String jobId, Long stdOutOffset, Long stdErrOffset) {
     try {
       log.debug("Polling state for " + jobId + "...");
       ExecutionHandler handler = jobIdToHandlerMap.get(jobId);
-
       if (handler == null) {
-        return null;
+        JobStatus completed = completedJobs.getIfPresent(jobId);
+        return completed == null ? null : completedSince(completed, stdOutOffset, stdErrOffset);
       }
 
       JobStatus jobStatus = new JobStatus().setId(jobId);
@@ -159,8 +246,7 @@ public class JobExecutorLocal extends JobExecutor {
       stdOutStream.flush();
       stdErrStream.flush();
 
-      jobStatus.setStdOut(new String(stdOutStream.toByteArray()));
-      jobStatus.setStdErr(new String(stdErrStream.toByteArray()));
+      setOutput(jobStatus, stdOutStream, stdErrStream, stdOutOffset, stdErrOffset);
 
       if (resultHandler.hasResult()) {
         jobStatus.setState(JobStatus.State.COMPLETED);
@@ -175,6 +261,7 @@ public class JobExecutorLocal extends JobExecutor {
         }
 
         jobIdToHandlerMap.remove(jobId);
+        jobIdToCompletionMap.remove(jobId);
       } else {
         jobStatus.setState(JobStatus.State.RUNNING);
       }
@@ -186,6 +273,70 @@ public class JobExecutorLocal extends JobExecutor {
     }
   }
 
+  /**
+   * Reads a completed job's final status. With offsets, only the end of its final output that was written after them
+   * is returned.
+   */
+  private static JobStatus completedSince(JobStatus completed, Long stdOutOffset, Long stdErrOffset) {
+    if (stdOutOffset == null || stdErrOffset == null) {
+      return completed;
+    }
+
+    return new JobStatus().setId(completed.getId())
+        .setState(completed.getState())
+        .setResult(completed.getResult())
+        .setStdOut(outputSince(completed.getStdOut(), completed.getStdOutOffset(), stdOutOffset))
+        .setStdErr(outputSince(completed.getStdErr(), completed.getStdErrOffset(), stdErrOffset))
+        .setStdOutOffset(completed.getStdOutOffset())
+        .setStdErrOffset(completed.getStdErrOffset())
+        .setStdOutFile(completed.getStdOutFile())
+        .setStdErrFile(completed.getStdErrFile());
+  }
+
+  private static String outputSince(String output, long total, long offset) {
+    byte[] bytes = output.getBytes();
+    int unread = (int) Math.min(bytes.length, Math.max(0, total - offset));
+    return new String(bytes, bytes.length - unread, unread);
+  }
+
+  /**
+   * Copies a job's output into its status. Without offsets, this is all output held in memory; with offsets, only the
+   * output written after them.
+   */
+  private static void setOutput(JobStatus jobStatus, ByteArrayOutputStream stdOut, ByteArrayOutputStream stdErr, Long stdOutOffset, Long stdErrOffset) {
+    jobStatus.setStdOut(new String(readOutput(stdOut, stdOutOffset)))
+        .setStdErr(new String(readOutput(stdErr, stdErrOffset)))
+        .setStdOutOffset(totalOutput(stdOut))
+        .setStdErrOffset(totalOutput(stdErr))
+        .setStdOutFile(outputFile(stdOut))
+        .setStdErrFile(outputFile(stdErr));
+  }
+
+  private static byte[] readOutput(ByteArrayOutputStream output, Long offset) {
+    if (offset == null) {
+      return output.toByteArray();
+    } else if (output instanceof BoundedOutputStream) {
+      return ((BoundedOutputStream) output).readFrom(offset);
+    } else {
+      byte[] bytes = output.toByteArray();
+      int start = (int) Math.min(offset, bytes.length);
+      return Arrays.copyOfRange(bytes, start, bytes.length);
+    }
+  }
+
+  private static long totalOutput(ByteArrayOutputStream output) {
+    return output instanceof BoundedOutputStream ? ((BoundedOutputStream) output).getTotal() : output.size();
+  }
+
+  private static String outputFile(ByteArrayOutputStream output) {
+    if (output instanceof BoundedOutputStream) {
+      Path file = ((BoundedOutputStream) output).getSpillFile();
+      return file == null ? null : file.toString();
+    }
+
+    return null;
+  }
+
   @Override
   public void cancelJob(String jobId) {
     log.info("Canceling job " + jobId + "...");
@@ -26,6 +26,12 @@ public class JobStatus {
   Result result;
   String stdOut;
   String stdErr;
+  // How much output the job has written, pass these back to updateJob to only read what's written next.
+  long stdOutOffset;
+  long stdErrOffset;
+  // Where the job's full output can be read, when it's too large to be held in memory.
+  String stdOutFile;
+  String stdErrFile;
 
   public enum State {
     RUNNING, COMPLETED
@@ -17,11 +17,10 @@
 
 package com.netflix.spinnaker.halyard.core.job.v1;
 
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
 
-public class TeeByteArrayOutputStream extends ByteArrayOutputStream {
+public class TeeByteArrayOutputStream extends BoundedOutputStream {
   private final OutputStream tee;
 
   TeeByteArrayOutputStream(OutputStream tee) {
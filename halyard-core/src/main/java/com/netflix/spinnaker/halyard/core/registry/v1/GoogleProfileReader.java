@@ -58,6 +58,9 @@ public class GoogleProfileReader implements ProfileReader {
   @Autowired
   Yaml yamlParser;
 
+  @Autowired
+  ProfileCache profileCache;
+
   @Bean
   public Storage applicationDefaultGoogleStorage() {
     return createGoogleStorage(true);
@@ -70,21 +73,21 @@ public class GoogleProfileReader implements ProfileReader {
 
   public InputStream readProfile(String artifactName, String version, String profileName) throws IOException {
     String path = profilePath(artifactName, version, profileName);
-    return getContents(path);
+    return getContents(path, true);
   }
 
   public BillOfMaterials readBom(String version) throws IOException {
     String bomName = bomPath(version);
 
     return relaxedObjectMapper.convertValue(
-        yamlParser.load(getContents(bomName)),
+        yamlParser.load(getContents(bomName, isReleased(version))),
         BillOfMaterials.class
     );
   }
 
   public Versions readVersions() throws IOException {
     return relaxedObjectMapper.convertValue(
-        yamlParser.load(getContents("versions.yml")),
+        yamlParser.load(getContents("versions.yml", false)),
         Versions.class
     );
   }
@@ -101,7 +104,23 @@ public class GoogleProfileReader implements ProfileReader {
     return String.join("/", "bom", version + ".yml");
   }
 
-  private InputStream getContents(String objectName) throws IOException {
+  /**
+   * Drops any cached copy of an object, so the next read sees what was just published.
+   */
+  void invalidate(String objectName) {
+    profileCache.invalidate(spinconfigBucket, objectName);
+  }
+
+  // Aliases such as "master-latest-unvalidated" are republished with every build, unlike released versions.
+  private static boolean isReleased(String version) {
+    return !version.contains("latest");
+  }
+
+  private InputStream getContents(String objectName, boolean immutable) throws IOException {
+    return new ByteArrayInputStream(profileCache.get(spinconfigBucket, objectName, immutable, () -> download(objectName)));
+  }
+
+  private byte[] download(String objectName) throws IOException {
     ByteArrayOutputStream output = new ByteArrayOutputStream();
     log.info("Getting object contents of " + objectName);
 
@@ -113,7 +132,7 @@ public class GoogleProfileReader implements ProfileReader {
       unauthenticatedGoogleStorage.objects().get(spinconfigBucket, objectName).executeMediaAndDownloadTo(output);
     }
 
-    return new ByteArrayInputStream(output.toByteArray());
+    return output.toByteArray();
   }
 
   private Storage createGoogleStorage(boolean useApplicationDefaultCreds) {
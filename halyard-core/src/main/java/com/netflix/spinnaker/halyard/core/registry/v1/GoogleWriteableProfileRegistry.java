@@ -101,6 +101,7 @@ public class GoogleWriteableProfileRegistry {
 
       ByteArrayContent content = new ByteArrayContent("application/text", bytes);
       storage.objects().insert(spinconfigBucket, object, content).execute();
+      googleProfileReader.invalidate(name);
     } catch (IOException e) {
       log.error("Failed to write new object " + name, e);
       throw new HalException(new ProblemBuilder(Severity.FATAL, "Failed to write to " + name + ": " + e.getMessage()).build());
@@ -0,0 +1,167 @@
+/*
+ * Copyright 2018 Google, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License")
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.spinnaker.halyard.core.registry.v1;
+
+import com.netflix.spectator.api.Registry;
+import lombok.Data;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps a copy of every BOM and profile read from the config bucket under the halconfig directory's cache, so that
+ * they're only downloaded once.
+ *
+ * Objects are stored by bucket and object name. Since a released BOM or profile is never rewritten under the same
+ * name, these are kept indefinitely. Mutable objects (versions.yml, BOMs for a branch's latest build) are re-read once
+ * they're older than a TTL, but a stale copy is still returned when the bucket can't be reached, so config can be
+ * generated offline once everything it needs has been read.
+ */
+@Slf4j
+@Component
+public class ProfileCache {
+  @Autowired
+  String profileCachePath;
+
+  @Autowired(required = false)
+  Registry registry;
+
+  @Value("${spinnaker.config.input.cache.enabled:true}")
+  boolean enabled = true;
+
+  @Value("${spinnaker.config.input.cache.mutableTtlMs:600000}")
+  long mutableTtlMs = 600000;
+
+  private final Stats stats = new Stats();
+
+  public interface Loader {
+    byte[] load() throws IOException;
+  }
+
+  @Data
+  public static class Stats {
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong staleHits = new AtomicLong();
+  }
+
+  /**
+   * @return how often objects were read from the cache rather than the bucket since the daemon started.
+   */
+  public Stats getStats() {
+    return stats;
+  }
+
+  /**
+   * Returns the contents of an object, only loading it if there's no usable copy in the cache.
+   *
+   * @param bucket is the bucket the object is read from.
+   * @param objectName is the name of the object in the bucket.
+   * @param immutable is whether the object can never change once it's been published.
+   * @param loader reads the object from the bucket.
+   * @return the object's contents.
+   * @throws IOException if the object can't be loaded, and there's no copy in the cache to fall back on.
+   */
+  public byte[] get(String bucket, String objectName, boolean immutable, Loader loader) throws IOException {
+    if (!enabled) {
+      return loader.load();
+    }
+
+    Path path = Paths.get(profileCachePath, bucket, objectName);
+    if (Files.isRegularFile(path) && (immutable || isFresh(path))) {
+      byte[] contents = read(path);
+      if (contents != null) {
+        record(stats.hits, "hit");
+        return contents;
+      }
+    }
+
+    byte[] contents;
+    try {
+      contents = loader.load();
+    } catch (IOException e) {
+      byte[] stale = Files.isRegularFile(path) ? read(path) : null;
+      if (stale == null) {
+        throw e;
+      }
+
+      log.warn("Unable to read " + objectName + " from " + bucket + ", using the copy cached at " + path, e);
+      record(stats.staleHits, "stale");
+      return stale;
+    }
+
+    record(stats.misses, "miss");
+    write(path, contents);
+    return contents;
+  }
+
+  /**
+   * Drops the cached copy of an object, e.g. once a new version of it has been published.
+   */
+  public void invalidate(String bucket, String objectName) {
+    try {
+      Files.deleteIfExists(Paths.get(profileCachePath, bucket, objectName));
+    } catch (IOException e) {
+      log.warn("Unable to remove cached copy of " + objectName, e);
+    }
+  }
+
+  private boolean isFresh(Path path) {
+    return path.toFile().lastModified() + mutableTtlMs > System.currentTimeMillis();
+  }
+
+  private byte[] read(Path path) {
+    try {
+      return Files.readAllBytes(path);
+    } catch (IOException e) {
+      log.warn("Unable to read cached copy at " + path, e);
+      return null;
+    }
+  }
+
+  private void write(Path path, byte[] contents) {
+    // Written alongside the entry and then moved into place, so that concurrent readers never see a partial entry.
+    Path tmpPath = path.resolveSibling(path.getFileName() + "." + UUID.randomUUID() + ".tmp");
+    try {
+      Files.createDirectories(path.getParent());
+      Files.write(tmpPath, contents);
+      Files.move(tmpPath, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    } catch (IOException e) {
+      log.warn("Unable to cache a copy of " + path.getFileName() + ", it will be read again next time", e);
+      try {
+        Files.deleteIfExists(tmpPath);
+      } catch (IOException ignored) {
+      }
+    }
+  }
+
+  private void record(AtomicLong counter, String result) {
+    counter.incrementAndGet();
+    if (registry != null) {
+      registry.counter("halyard.profileCache.requests", "result", result).increment();
+    }
+  }
+}
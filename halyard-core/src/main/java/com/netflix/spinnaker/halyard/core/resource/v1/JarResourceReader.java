@@ -22,9 +22,18 @@ import org.apache.commons.io.IOUtils;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class JarResourceReader {
+  // Resources in the JAR can't change while halyard is running, so each is only read once.
+  private static final Map<String, String> resources = new ConcurrentHashMap<>();
+
   static String readResource(String path) {
+    return resources.computeIfAbsent(path, JarResourceReader::loadResource);
+  }
+
+  private static String loadResource(String path) {
     InputStream contents = JarResourceReader.class.getResourceAsStream(path);
 
     if (contents == null) {
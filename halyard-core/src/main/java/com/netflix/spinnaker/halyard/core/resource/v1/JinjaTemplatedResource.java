@@ -19,20 +19,76 @@
 package com.netflix.spinnaker.halyard.core.resource.v1;
 
 import com.hubspot.jinjava.Jinjava;
+import com.hubspot.jinjava.interpret.Context;
 import com.hubspot.jinjava.interpret.FatalTemplateErrorsException;
+import com.hubspot.jinjava.interpret.JinjavaInterpreter;
+import com.hubspot.jinjava.interpret.TemplateError;
+import com.hubspot.jinjava.interpret.TemplateError.ErrorType;
+import com.hubspot.jinjava.tree.Node;
 import com.netflix.spinnaker.halyard.core.error.v1.HalException;
 import com.netflix.spinnaker.halyard.core.problem.v1.Problem;
 
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Renders a template with Jinja. All resources share one engine, and a template whose contents can't change (one read
+ * from the JAR, for instance) is only parsed once, with the parsed template re-rendered for every set of bindings.
+ */
 abstract public class JinjaTemplatedResource extends TemplatedResource {
-  private Jinjava jinjava = new Jinjava();
+  private static final Jinjava jinjava = new Jinjava();
+  private static final Map<String, Node> parsedTemplates = new ConcurrentHashMap<>();
+
+  /**
+   * @return a key identifying this resource's template when its contents never change, or null if they must be
+   * parsed each time it's rendered.
+   */
+  protected String getTemplateKey() {
+    return null;
+  }
 
   @Override
   public String toString() {
     String contents = getContents();
+    String key = getTemplateKey();
     try {
-      return jinjava.render(contents, bindings);
+      return key == null ? jinjava.render(contents, bindings) : renderParsed(key, contents);
     } catch (FatalTemplateErrorsException e) {
       throw new HalException(Problem.Severity.FATAL, "Unable to render template:\n" + contents + "\n" + e.getMessage(), e);
     }
   }
+
+  private String renderParsed(String key, String contents) {
+    JinjavaInterpreter interpreter = new JinjavaInterpreter(jinjava,
+        new Context(jinjava.getGlobalContext(), bindings),
+        jinjava.getGlobalConfig());
+
+    JinjavaInterpreter.pushCurrent(interpreter);
+    try {
+      Node template = parsedTemplates.get(key);
+      if (template == null) {
+        template = interpreter.parse(contents);
+        // A template that failed to parse is never cached, so that its errors are reported every time.
+        if (interpreter.getErrors().isEmpty()) {
+          parsedTemplates.put(key, template);
+        }
+      }
+
+      String result = interpreter.render(template);
+      List<TemplateError> fatalErrors = interpreter.getErrors()
+          .stream()
+          .filter(e -> e.getSeverity() == ErrorType.FATAL)
+          .collect(Collectors.toList());
+
+      if (!fatalErrors.isEmpty()) {
+        throw new FatalTemplateErrorsException(contents, fatalErrors);
+      }
+
+      return result;
+    } finally {
+      JinjavaInterpreter.popCurrent();
+    }
+  }
 }
@@ -0,0 +1,171 @@
+/*
+ * Copyright 2018 Google, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License")
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.spinnaker.halyard.core.tasks.v1;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * The events written by a single task, of which only the most recent are kept in memory. Older events are appended to
+ * a log file named after the task, when a directory for these has been configured.
+ *
+ * Events are appended by the task while HTTP threads read them, so reads never lock: a reader snapshots how many
+ * events have been written, and skips any slot that a writer has since reused.
+ */
+@Slf4j
+class DaemonEventLog {
+  private static int defaultCapacity = 1000;
+  private static Path spillDirectory;
+
+  private final String name;
+  private final AtomicReferenceArray<Entry> entries;
+  private volatile long written;
+  private BufferedWriter spill;
+  private boolean spillFailed;
+
+  private static class Entry {
+    final long index;
+    final DaemonEvent event;
+
+    Entry(long index, DaemonEvent event) {
+      this.index = index;
+      this.event = event;
+    }
+  }
+
+  DaemonEventLog(String name) {
+    this.name = name;
+    this.entries = new AtomicReferenceArray<>(Math.max(defaultCapacity, 1));
+  }
+
+  /**
+   * @param capacity is how many of each task's most recent events to keep in memory.
+   * @param directory is where to write events that no longer fit, or null to discard them.
+   */
+  static void configure(int capacity, Path directory) {
+    defaultCapacity = capacity;
+    spillDirectory = directory;
+  }
+
+  synchronized void append(DaemonEvent event) {
+    int capacity = entries.length();
+    long index = written;
+    Entry evicted = entries.getAndSet((int) (index % capacity), new Entry(index, event));
+    written = index + 1;
+
+    if (evicted != null) {
+      spill(evicted.event);
+    }
+  }
+
+  /**
+   * @return the retained events with a sequence after "since" and no later than "until", oldest first.
+   */
+  List<DaemonEvent> between(long since, long until) {
+    List<DaemonEvent> result = new ArrayList<>();
+    long last = written - 1;
+    long first = Math.max(0, written - entries.length());
+    for (long i = last; i >= first; i--) {
+      Entry entry = entries.get((int) (i % entries.length()));
+      if (entry == null || entry.index != i) {
+        // Overwritten since we started reading, so everything older is gone too.
+        break;
+      }
+
+      long sequence = entry.event.getSequence();
+      if (sequence <= since) {
+        break;
+      } else if (sequence <= until) {
+        result.add(entry.event);
+      }
+    }
+
+    Collections.reverse(result);
+    return result;
+  }
+
+  List<DaemonEvent> retained() {
+    return between(-1, Long.MAX_VALUE);
+  }
+
+  DaemonEvent last() {
+    long last = written - 1;
+    if (last < 0) {
+      return null;
+    }
+
+    Entry entry = entries.get((int) (last % entries.length()));
+    return entry == null ? null : entry.event;
+  }
+
+  synchronized void close() {
+    if (spill != null) {
+      try {
+        spill.close();
+      } catch (IOException e) {
+        log.warn("Failed to close event log for task " + name, e);
+      }
+
+      spill = null;
+    }
+  }
+
+  /**
+   * Closes this log and deletes its file, once the task it belongs to is forgotten.
+   */
+  synchronized void delete() {
+    close();
+    if (spillDirectory != null) {
+      try {
+        Files.deleteIfExists(spillDirectory.resolve(name + ".log"));
+      } catch (IOException e) {
+        log.warn("Failed to delete the event log for task " + name, e);
+      }
+    }
+  }
+
+  private void spill(DaemonEvent event) {
+    if (spillDirectory == null || spillFailed) {
+      return;
+    }
+
+    try {
+      if (spill == null) {
+        spill = Files.newBufferedWriter(spillDirectory.resolve(name + ".log"),
+            StandardCharsets.UTF_8,
+            StandardOpenOption.CREATE,
+            StandardOpenOption.APPEND);
+      }
+
+      spill.write(event.toString());
+      spill.newLine();
+    } catch (IOException e) {
+      log.warn("Failed to write to the event log for task " + name + ", older events will be discarded", e);
+      spillFailed = true;
+    }
+  }
+}
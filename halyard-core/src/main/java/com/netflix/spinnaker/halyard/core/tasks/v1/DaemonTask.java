@@ -17,7 +17,12 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 import java.util.function.Consumer;
+import java.util.function.LongConsumer;
 import java.util.function.Supplier;
 
 /**
@@ -27,7 +32,13 @@ import java.util.function.Supplier;
 @Data
 @Slf4j
 public class DaemonTask<C, T> {
-  List<DaemonEvent> events = new ArrayList<>();
+  // Orders every event and state change across all tasks, so that a single cursor can track progress of a task tree.
+  private static final AtomicLong sequence = new AtomicLong();
+  // Held (shared) while an update is numbered and made visible, and (exclusively) while reading the cursor, so that no
+  // update numbered at or below a cursor can still be on its way.
+  private static final ReadWriteLock sequenceLock = new ReentrantReadWriteLock();
+  private static final Object updates = new Object();
+
   List<DaemonTask> children = new ArrayList<>();
   final String name;
   final String uuid;
@@ -40,13 +51,19 @@ public class DaemonTask<C, T> {
   List<String> runningJobs = new ArrayList<>();
 
   @JsonIgnore Thread runner;
+  @JsonIgnore volatile boolean interruptRequested;
   @JsonIgnore C context;
   @JsonIgnore String currentStage;
+  @JsonIgnore volatile long lastUpdate;
+  @JsonIgnore final DaemonEventLog eventLog;
+  // Completed with this task once it reaches a terminal state, and its response is set.
+  @JsonIgnore final CompletableFuture<DaemonTask<C, T>> completion = new CompletableFuture<>();
 
   @JsonCreator
   public DaemonTask(@JsonProperty("name") String name, @JsonProperty("timeout") long timeout) {
     this.name = name;
     this.uuid = UUID.randomUUID().toString();
+    this.eventLog = new DaemonEventLog(this.uuid);
     this.timeout = timeout;
     this.version = Optional.ofNullable(DaemonTask.class
         .getPackage()
@@ -63,16 +80,90 @@ public class DaemonTask<C, T> {
     currentStage = name;
   }
 
-  void writeMessage(String message) {
+  synchronized void writeMessage(String message) {
     if (currentStage == null) {
       throw new IllegalStateException("Illegal attempt to write an event when no stage has started");
     }
 
-    events.add(new DaemonEvent()
+    recordUpdate(publish(eventSequence -> eventLog.append(new DaemonEvent()
         .setStage(currentStage)
         .setMessage(message)
         .setTimestamp(System.currentTimeMillis())
-    );
+        .setSequence(eventSequence)
+    )));
+  }
+
+  public void setState(State state) {
+    recordUpdate(publish(s -> this.state = state));
+  }
+
+  /**
+   * @return the most recent events this task wrote, the rest are only kept in its log file.
+   */
+  public List<DaemonEvent> getEvents() {
+    return eventLog.retained();
+  }
+
+  /**
+   * @return the events this task wrote after the "since" cursor, up to and including the "until" cursor.
+   */
+  public List<DaemonEvent> getEventsBetween(long since, long until) {
+    return eventLog.between(since, until);
+  }
+
+  @JsonIgnore
+  public DaemonEvent getLastEvent() {
+    return eventLog.last();
+  }
+
+  private void recordUpdate(long updateSequence) {
+    lastUpdate = updateSequence;
+    synchronized (updates) {
+      updates.notifyAll();
+    }
+  }
+
+  /**
+   * Numbers an update, and makes it visible before any cursor can be read past it.
+   *
+   * @param update makes the update visible, given its sequence number.
+   * @return the update's sequence number.
+   */
+  private static long publish(LongConsumer update) {
+    sequenceLock.readLock().lock();
+    try {
+      long updateSequence = sequence.incrementAndGet();
+      update.accept(updateSequence);
+      return updateSequence;
+    } finally {
+      sequenceLock.readLock().unlock();
+    }
+  }
+
+  /**
+   * @return a cursor that every update numbered at or below is already visible under.
+   */
+  static long currentSequence() {
+    sequenceLock.writeLock().lock();
+    try {
+      return sequence.get();
+    } finally {
+      sequenceLock.writeLock().unlock();
+    }
+  }
+
+  /**
+   * Blocks until any task records an update past the given cursor, or the timeout elapses.
+   */
+  static void awaitUpdate(long since, long timeoutMillis) throws InterruptedException {
+    long deadline = System.currentTimeMillis() + timeoutMillis;
+    synchronized (updates) {
+      long remaining = deadline - System.currentTimeMillis();
+      while (sequence.get() <= since && remaining > 0) {
+        updates.wait(remaining);
+        remaining = deadline - System.currentTimeMillis();
+      }
+    }
   }
 
   public void consumeTaskTree(Consumer<DaemonTask> c) {
@@ -101,12 +192,32 @@ public class DaemonTask<C, T> {
     interrupt();
   }
 
-  private boolean isInterrupted() {
-    return runner.isInterrupted();
+  private synchronized boolean isInterrupted() {
+    return interruptRequested;
+  }
+
+  public synchronized void interrupt() {
+    interruptRequested = true;
+    if (runner != null) {
+      runner.interrupt();
+    }
   }
 
-  public void interrupt() {
-    runner.interrupt();
+  /**
+   * Records the thread running this task so it can be interrupted. Since tasks run on pooled threads, the runner is
+   * cleared once the task finishes, so that a late interrupt can't reach whatever that thread runs next.
+   *
+   * @return false if the task was interrupted before it started, and shouldn't be run.
+   */
+  synchronized boolean bindRunner(Thread thread) {
+    runner = thread;
+    return !interruptRequested;
+  }
+
+  synchronized void unbindRunner() {
+    runner = null;
+    // Clear any interrupt that arrived after the task stopped checking for one.
+    Thread.interrupted();
   }
 
   void cleanupResources() {
@@ -127,16 +238,16 @@ public class DaemonTask<C, T> {
   }
 
   private void inSucceededState() {
-    state = State.SUCCEEDED;
+    setState(State.SUCCEEDED);
   }
 
   private void inFailedState() {
     if (isTimedOut()) {
-      state = State.TIMED_OUT;
+      setState(State.TIMED_OUT);
     } else if (isInterrupted()) {
-      state = State.INTERRUPTED;
+      setState(State.INTERRUPTED);
     } else {
-      state = State.FAILED;
+      setState(State.FAILED);
     }
   }
 
@@ -160,37 +271,10 @@ public class DaemonTask<C, T> {
 
   <Q, P> DaemonTask<Q, P> spawnChild(Supplier<DaemonResponse<P>> childRunner, String name, long timeout) {
     DaemonTask child = TaskRepository.submitTask(childRunner, name, timeout);
-    children.add(child);
+    recordUpdate(publish(s -> children.add(child)));
     return child;
   }
 
-  <P> DaemonResponse<P> reapChild(DaemonTask task) throws InterruptedException {
-    DaemonTask childTask = children.stream()
-        .filter(c -> c.getUuid().equals(task.getUuid()))
-        .findFirst()
-        .orElseThrow(() -> new IllegalArgumentException("Child " + task + " does not belong to this task " + this + ""));
-
-    // Spin due to spurious wakeups
-    while (!childTask.getState().isTerminal()) {
-      try {
-        synchronized (childTask) {
-          childTask.wait();
-        }
-      } catch (InterruptedException e) {
-        throw e;
-      }
-    }
-
-    TaskRepository.getTask(childTask.getUuid());
-
-    log.info(this + "Collected child task " + childTask + " with state " + childTask.getState());
-    if (childTask.getResponse() == null) {
-      throw new RuntimeException("Child response may not be null.");
-    }
-
-    return childTask.getResponse();
-  }
-
   @Override
   public String toString() {
     return "[" + name + "] (" + uuid + ") - " + state;
@@ -7,6 +7,11 @@ import com.netflix.spinnaker.halyard.core.job.v1.JobExecutor;
 import com.netflix.spinnaker.halyard.core.problem.v1.ProblemSet;
 import lombok.extern.slf4j.Slf4j;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 import java.util.function.BiFunction;
 import java.util.function.BinaryOperator;
 import java.util.function.Supplier;
@@ -34,39 +39,47 @@ public class DaemonTaskHandler {
   public static <U, T> DaemonResponse<U> reduceChildren(U base, BiFunction<U, ? super T, U> accumulator, BinaryOperator<U> combiner) {
     DaemonTask task = getTask();
     if (task != null) {
+      List<DaemonTask> children = new ArrayList<>(task.getChildren());
+      DaemonTask failedChild;
+      try {
+        CompletableFuture<DaemonTask> awaited = awaitChildren(children);
+        runQueuedChildren(children);
+        failedChild = awaited.get();
+      } catch (InterruptedException e) {
+        throw new DaemonTaskInterrupted("Interrupted during reap", e);
+      } catch (ExecutionException e) {
+        throw new IllegalStateException("Unexpected failure waiting on children of " + task, e.getCause());
+      }
+
+      if (failedChild != null) {
+        DaemonTask.State state = failedChild.getState();
+        log.info(task + " collected failed child task " + failedChild + " with state " + state);
+        switch (state) {
+          case FAILED:
+            throw new HalException(failedChild.getResponse().getProblemSet().getProblems());
+          case INTERRUPTED:
+            task.interrupt();
+            throw new DaemonTaskInterrupted(failedChild.getFatalError());
+          case TIMED_OUT:
+            task.timeout();
+            throw new DaemonTaskInterrupted("Child task timed out");
+          default:
+            throw new IllegalStateException("Unknown terminal state " + state);
+        }
+      }
+
       U responseBody = base;
       ProblemSet problemSet = new ProblemSet();
       DaemonResponse<U> response = new DaemonResponse<>(responseBody, problemSet);
 
-      return (DaemonResponse) task.getChildren().stream().reduce(response,
+      return (DaemonResponse) children.stream().reduce(response,
           (o, t) -> {
             DaemonResponse<U> collector = (DaemonResponse<U>) o;
             DaemonTask child = (DaemonTask) t;
-            DaemonResponse<T> childResponse;
-            try {
-              childResponse = task.reapChild(child);
-            } catch (InterruptedException e) {
-              throw new DaemonTaskInterrupted("Interrupted during reap", e);
-            }
-
-            DaemonTask.State state = child.getState();
-            if (!state.isTerminal()) {
-              throw new IllegalStateException("Child task " + child + " reaped but non-terminal.");
-            }
-
-            switch (state) {
-              case FAILED:
-                throw new HalException(childResponse.getProblemSet().getProblems());
-              case INTERRUPTED:
-                task.interrupt();
-                throw new DaemonTaskInterrupted(child.getFatalError());
-              case TIMED_OUT:
-                task.timeout();
-                throw new DaemonTaskInterrupted("Child task timed out");
-              case SUCCEEDED:
-                break;
-              default:
-                throw new IllegalStateException("Unknown terminal state " + state);
+            DaemonResponse<T> childResponse = child.getResponse();
+            log.info(task + " collected child task " + child + " with state " + child.getState());
+            if (childResponse == null) {
+              throw new RuntimeException("Child response may not be null.");
             }
 
             collector.getProblemSet().addAll(childResponse.getProblemSet());
@@ -85,6 +98,55 @@ public class DaemonTaskHandler {
     }
   }
 
+  /**
+   * Waits on all children at once rather than one at a time. As soon as any child finishes unsuccessfully, its
+   * siblings that are still running are interrupted, since the parent can no longer succeed.
+   *
+   * @param children the tasks to wait on.
+   * @return a future completed with the first child to finish unsuccessfully, or with null once all have succeeded.
+   */
+  public static CompletableFuture<DaemonTask> awaitChildren(List<DaemonTask> children) {
+    CompletableFuture<DaemonTask> result = new CompletableFuture<>();
+    CompletableFuture[] completions = children.stream()
+        .map(c -> ((CompletableFuture<DaemonTask>) c.getCompletion()).thenAccept(child -> {
+          if (child.getState() != DaemonTask.State.SUCCEEDED && result.complete(child)) {
+            children.stream()
+                .filter(sibling -> !sibling.getState().isTerminal())
+                .forEach(sibling -> {
+                  log.info("Interrupting " + sibling + " since its sibling " + child + " did not succeed");
+                  sibling.interrupt();
+                });
+          }
+        }))
+        .toArray(CompletableFuture[]::new);
+
+    CompletableFuture.allOf(completions).thenRun(() -> result.complete(null));
+    return result;
+  }
+
+  /**
+   * Runs a task on the calling thread if it hasn't started yet.
+   *
+   * @return true iff the task was run here.
+   */
+  public static boolean runIfQueued(DaemonTask task) {
+    return TaskRepository.runIfQueued(task);
+  }
+
+  /**
+   * Runs any of the given children that haven't started yet on the calling thread, one after the other, rather than
+   * waiting for the executor to find a thread for them. Stops early if the calling task is interrupted.
+   */
+  public static void runQueuedChildren(List<DaemonTask> children) {
+    for (DaemonTask child : children) {
+      if (Thread.currentThread().isInterrupted() || isInterruptRequested()) {
+        return;
+      }
+
+      TaskRepository.runIfQueued(child);
+    }
+  }
+
   public static <C, T> DaemonTask<C, T> submitTask(Supplier<DaemonResponse<T>> taskSupplier, String name, long timeout) {
     DaemonTask task = getTask();
     DaemonTask<C, T> result;
@@ -104,6 +166,26 @@ public class DaemonTaskHandler {
     return submitTask(taskSupplier, name, timeout);
   }
 
+  /**
+   * Binds the calling thread's task to whichever thread eventually runs the callable, so that work handed off to a
+   * thread pool can still write messages to, spawn jobs for, and read the context of the task that requested it.
+   *
+   * @param callable the work to run on behalf of the current task.
+   * @return a callable that runs the work with the current task bound.
+   */
+  public static <T> Callable<T> withCurrentTask(Callable<T> callable) {
+    DaemonTask task = getTask();
+    return () -> {
+      DaemonTask previous = getTask();
+      setTask(task);
+      try {
+        return callable.call();
+      } finally {
+        setTask(previous);
+      }
+    };
+  }
+
   public static JobExecutor getJobExecutor() {
     if (getTask() == null) {
       throw new IllegalStateException("Cannot request a job executor from outside a daemon task");
@@ -144,6 +226,14 @@ public class DaemonTaskHandler {
     }
   }
 
+  /**
+   * @return true iff the current task was asked to stop, whether or not its thread's interrupt flag is still set.
+   */
+  public static boolean isInterruptRequested() {
+    DaemonTask task = getTask();
+    return task != null && task.isInterruptRequested();
+  }
+
   public static void safeSleep(Long millis) {
     if (Thread.interrupted()) {
       throw new DaemonTaskInterrupted();
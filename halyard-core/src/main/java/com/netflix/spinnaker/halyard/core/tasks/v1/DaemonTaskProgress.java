@@ -0,0 +1,63 @@
+/*
+ * Copyright 2018 Google, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License")
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.spinnaker.halyard.core.tasks.v1;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.netflix.spinnaker.halyard.core.tasks.v1.DaemonTask.State;
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * What changed in a task tree since a client last asked. Rather than the full event history of each task, this only
+ * carries each task's state and most recent event, and the events written after the client's cursor.
+ */
+@Data
+public class DaemonTaskProgress {
+  // Pass this back as "since" to receive only what happens next.
+  long cursor;
+  // The requested task followed by all of its descendants.
+  List<TaskProgress> tasks = new ArrayList<>();
+
+  @JsonIgnore
+  public State getState() {
+    return tasks.isEmpty() ? null : tasks.get(0).getState();
+  }
+
+  @Data
+  public static class TaskProgress {
+    String uuid;
+    String name;
+    State state;
+    DaemonEvent lastEvent;
+    List<DaemonEvent> events = new ArrayList<>();
+  }
+
+  static DaemonTaskProgress of(DaemonTask<?, ?> root, long since, long until) {
+    DaemonTaskProgress result = new DaemonTaskProgress().setCursor(until);
+    root.consumeTaskTree(t -> result.getTasks().add(new TaskProgress()
+        .setUuid(t.getUuid())
+        .setName(t.getName())
+        .setState(t.getState())
+        .setLastEvent(t.getLastEvent())
+        .setEvents(t.getEventsBetween(since, until))
+    ));
+
+    return result;
+  }
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright 2018 Google, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License")
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.spinnaker.halyard.core.tasks.v1;
+
+import lombok.Data;
+import lombok.experimental.Accessors;
+
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Waits for something remote (a rollout, an operation, a pipeline) to become ready by re-running a probe until its
+ * result is accepted.
+ *
+ * Between probes the waiter blocks on a {@link Signal}, which a watch on the remote resource can fire as soon as it may
+ * have changed. Without a signal, or when the signal stays quiet, the probe is re-run on an interval that starts short
+ * and backs off, so a fast rollout is noticed quickly and a slow one isn't polled more than it needs to be.
+ */
+@Data
+@Accessors(chain = true)
+public class ReadinessWaiter {
+  private long initialIntervalMillis = 500;
+  private long maxIntervalMillis = 10000;
+  private double backoff = 2.0;
+  private Signal signal;
+
+  /**
+   * Something that may fire when the resource being waited on changes.
+   */
+  public interface Signal extends AutoCloseable {
+    /**
+     * @param maxMillis the longest time to wait for.
+     * @return true if the resource may have changed, false if the wait timed out.
+     */
+    boolean await(long maxMillis) throws InterruptedException;
+
+    @Override
+    void close();
+  }
+
+  /**
+   * A signal that fires when {@link #fire()} is called, e.g. by a watch callback.
+   */
+  public static class Latch implements Signal {
+    private boolean fired;
+
+    public synchronized void fire() {
+      fired = true;
+      notifyAll();
+    }
+
+    @Override
+    public synchronized boolean await(long maxMillis) throws InterruptedException {
+      if (!fired) {
+        wait(maxMillis);
+      }
+
+      boolean result = fired;
+      fired = false;
+      return result;
+    }
+
+    @Override
+    public void close() {
+    }
+  }
+
+  /**
+   * Runs the probe until its result is ready. The signal, if any, is closed once this returns.
+   *
+   * @param probe reads the current state of the resource.
+   * @param ready decides whether that state is what's being waited for.
+   * @return the first result that was ready.
+   */
+  public <T> T await(Supplier<T> probe, Predicate<T> ready) {
+    long interval = initialIntervalMillis;
+    try {
+      T result = probe.get();
+      while (!ready.test(result)) {
+        if (Thread.interrupted()) {
+          throw new DaemonTaskInterrupted();
+        }
+
+        boolean changed;
+        if (signal != null) {
+          changed = signal.await(interval);
+        } else {
+          Thread.sleep(interval);
+          changed = false;
+        }
+
+        interval = changed ? initialIntervalMillis : Math.min(maxIntervalMillis, (long) (interval * backoff));
+        result = probe.get();
+      }
+
+      return result;
+    } catch (InterruptedException e) {
+      throw new DaemonTaskInterrupted(e);
+    } finally {
+      if (signal != null) {
+        signal.close();
+      }
+    }
+  }
+}
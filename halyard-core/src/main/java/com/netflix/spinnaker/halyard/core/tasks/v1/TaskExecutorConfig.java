@@ -0,0 +1,49 @@
+/*
+ * Copyright 2018 Google, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License")
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.spinnaker.halyard.core.tasks.v1;
+
+import com.netflix.spectator.api.Registry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+
+import javax.annotation.PostConstruct;
+
+/**
+ * Sizes the executor the daemon's tasks run on, and reports how many tasks are waiting for and using it.
+ */
+@Configuration
+public class TaskExecutorConfig {
+  @Value("${tasks.executor.maxThreads:64}")
+  int maxThreads;
+
+  @Value("${tasks.executor.virtualThreads:true}")
+  boolean virtualThreads;
+
+  @Autowired(required = false)
+  Registry registry;
+
+  @PostConstruct
+  void configureTaskRepository() {
+    TaskRepository.configureExecutor(maxThreads, virtualThreads);
+
+    if (registry != null) {
+      registry.gauge(registry.createId("halyard.tasks.queued"), this, c -> TaskRepository.getQueuedTasks());
+      registry.gauge(registry.createId("halyard.tasks.active"), this, c -> TaskRepository.getActiveTasks());
+    }
+  }
+}
@@ -3,19 +3,36 @@ package com.netflix.spinnaker.halyard.core.tasks.v1;
 import com.netflix.spinnaker.halyard.core.DaemonResponse;
 import com.netflix.spinnaker.halyard.core.error.v1.HalException;
 import com.netflix.spinnaker.halyard.core.tasks.v1.DaemonTask.State;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import lombok.Data;
 import lombok.extern.slf4j.Slf4j;
 
+import java.lang.reflect.Method;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 /**
  * All stored running/recently completed tasks.
+ *
+ * Tasks run on a shared executor rather than a thread each: virtual threads when the JVM supports them, otherwise a
+ * fixed number of threads, with further tasks queued until one is free. Since a parent task holds its thread while
+ * waiting on its children, a parent runs any of its children that are still queued itself (see runIfQueued) rather
+ * than waiting for a thread that every other parent may be holding too. Timeouts and the removal of finished tasks are
+ * handled by a single scheduler thread.
  */
 @Slf4j
 public class TaskRepository {
@@ -32,8 +49,139 @@ public class TaskRepository {
   private static long DELETE_TASK_INFO_WINDOW = TimeUnit.MINUTES.toMillis(2);
   public static long DEFAULT_TIMEOUT = TimeUnit.MINUTES.toMillis(1);
 
+  public static int DEFAULT_MAX_THREADS = 64;
+
+  private static ExecutorService executor;
+
+  private static final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(
+      new ThreadFactoryBuilder().setNameFormat("task-timeout-%d").setDaemon(true).build()
+  );
+
+  private static final AtomicInteger queuedTasks = new AtomicInteger();
+
+  private static final AtomicInteger activeTasks = new AtomicInteger();
+
+  // Tasks submitted but not yet started, by uuid.
+  private static final Map<String, QueuedTask> queued = new ConcurrentHashMap<>();
+
+  /**
+   * Replaces the executor tasks are submitted to. Tasks already submitted finish on the executor they were given to.
+   *
+   * @param maxThreads is the most tasks that may run at once when virtual threads aren't used.
+   * @param useVirtualThreads runs each task on its own virtual thread, if the JVM supports them.
+   */
+  static public synchronized void configureExecutor(int maxThreads, boolean useVirtualThreads) {
+    ExecutorService previous = executor;
+    executor = createExecutor(maxThreads, useVirtualThreads);
+
+    if (previous != null) {
+      previous.shutdown();
+    }
+  }
+
+  /**
+   * @param capacity is how many of each task's most recent events to keep in memory.
+   * @param directory is where each task's older events are written, or null to discard them.
+   */
+  static public void configureEventLogs(int capacity, Path directory) {
+    DaemonEventLog.configure(capacity, directory);
+  }
+
+  static public int getQueuedTasks() {
+    return queuedTasks.get();
+  }
+
+  static public int getActiveTasks() {
+    return activeTasks.get();
+  }
+
+  static private synchronized ExecutorService getExecutor() {
+    if (executor == null) {
+      executor = createExecutor(DEFAULT_MAX_THREADS, true);
+    }
+
+    return executor;
+  }
+
+  static private ExecutorService createExecutor(int maxThreads, boolean useVirtualThreads) {
+    if (useVirtualThreads) {
+      try {
+        Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+        log.info("Running tasks on virtual threads");
+        return (ExecutorService) factory.invoke(null);
+      } catch (NoSuchMethodException e) {
+        log.info("Virtual threads aren't supported by this JVM, running tasks on at most " + maxThreads + " threads");
+      } catch (ReflectiveOperationException e) {
+        log.warn("Unable to create a virtual thread executor, running tasks on at most " + maxThreads + " threads", e);
+      }
+    }
+
+    ThreadPoolExecutor pool = new ThreadPoolExecutor(maxThreads, maxThreads,
+        1, TimeUnit.MINUTES,
+        new LinkedBlockingQueue<>(),
+        new ThreadFactoryBuilder().setNameFormat("task-%d").setDaemon(true).build()
+    );
+    pool.allowCoreThreadTimeOut(true);
+    return pool;
+  }
+
+  /**
+   * A task waiting for a thread, which is run by whichever of the executor or the task's parent gets to it first.
+   */
+  static private class QueuedTask implements Runnable {
+    final String uuid;
+    final Runnable body;
+    final AtomicBoolean claimed = new AtomicBoolean();
+    volatile ExecutorService executor;
+
+    QueuedTask(String uuid, Runnable body) {
+      this.uuid = uuid;
+      this.body = body;
+    }
+
+    boolean claim() {
+      if (claimed.compareAndSet(false, true)) {
+        queued.remove(uuid);
+        return true;
+      }
+
+      return false;
+    }
+
+    @Override
+    public void run() {
+      if (claim()) {
+        body.run();
+      }
+    }
+  }
+
+  /**
+   * Runs a task on the calling thread if it hasn't started yet, so that a parent waiting on its children doesn't
+   * depend on another thread being free to run them. The calling thread's own task is restored afterwards.
+   *
+   * @return true iff the task was run here.
+   */
+  static public boolean runIfQueued(DaemonTask task) {
+    QueuedTask queuedTask = queued.get(task.getUuid());
+    if (queuedTask == null || !queuedTask.claim()) {
+      return false;
+    }
+
+    if (queuedTask.executor instanceof ThreadPoolExecutor) {
+      ((ThreadPoolExecutor) queuedTask.executor).remove(queuedTask);
+    }
+
+    log.info("Running queued task " + task + " on the thread waiting for it");
+    queuedTask.body.run();
+    return true;
+  }
+
   static private void deleteTaskInfo(String uuid) {
-    tasks.remove(uuid);
+    DaemonTask task = tasks.remove(uuid);
+    if (task != null) {
+      task.getEventLog().delete();
+    }
   }
 
   static public <C, T> DaemonTask<C, T> submitTask(Supplier<DaemonResponse<T>> runner, String name, long timeout) {
@@ -41,10 +189,21 @@ public class TaskRepository {
     String uuid = task.getUuid();
     log.info("Scheduling task " + task);
     Runnable r = () -> {
+      // Set when a parent runs this task while waiting on it.
+      DaemonTask parent = DaemonTaskHandler.getTask();
+      queuedTasks.decrementAndGet();
+      activeTasks.incrementAndGet();
       log.info("Starting task " + task);
+      // The timeout only covers the time spent running, not waiting to start.
+      scheduler.schedule(() -> timeoutTask(task, timeout), timeout, TimeUnit.MILLISECONDS);
+      scheduler.schedule(() -> deleteTaskInfo(uuid), timeout + DELETE_TASK_INFO_WINDOW, TimeUnit.MILLISECONDS);
       DaemonTaskHandler.setTask(task);
       task.setState(State.RUNNING);
       try {
+        if (!task.bindRunner(Thread.currentThread())) {
+          throw new DaemonTaskInterrupted("Interrupted before it started");
+        }
+
         task.success(runner.get());
       } catch (HalException e) {
         log.info("Task " + task + " failed with HalException: ", e);
@@ -54,68 +213,53 @@ public class TaskRepository {
         task.failure(e);
       } finally {
         task.cleanupResources();
+        task.unbindRunner();
+        task.getEventLog().close();
+        DaemonTaskHandler.setTask(parent);
+        if (parent != null && parent.isInterruptRequested()) {
+          // Clearing this task's interrupt may also have cleared one meant for its parent.
+          Thread.currentThread().interrupt();
+        }
+
+        activeTasks.decrementAndGet();
 
         log.info("Task " + task + " completed");
-        // Notify after changing state to avoid data-race where threads are notified before thread appears terminal
-        synchronized (task) {
-          task.notifyAll();
-        }
+        // Complete after changing state to avoid data-race where waiters are notified before the task appears terminal
+        task.getCompletion().complete(task);
       }
     };
 
-    Thread t = new Thread(r);
-    tasks.put(uuid, task.setRunner(t));
-    t.start();
-
-    Thread interrupt = new Thread(new Interrupter(timeout, task));
-    interrupt.start();
+    tasks.put(uuid, task);
+    QueuedTask queuedTask = new QueuedTask(uuid, r);
+    queued.put(uuid, queuedTask);
+    queuedTasks.incrementAndGet();
+    try {
+      ExecutorService current = getExecutor();
+      queuedTask.executor = current;
+      current.execute(queuedTask);
+    } catch (RejectedExecutionException e) {
+      queuedTasks.decrementAndGet();
+      queued.remove(uuid);
+      tasks.remove(uuid);
+      throw e;
+    }
 
     return task;
   }
 
-  static private class Interrupter implements Runnable {
-    final long startTime;
-    final long endTime;
-    final DaemonTask target;
-
-    Interrupter(long timeout, DaemonTask target) {
-      this.startTime = System.currentTimeMillis();
-      this.endTime = this.startTime + timeout;
-      this.target = target;
-    }
-
-    @Override
-    public void run() {
-      long sleepTime = endTime - System.currentTimeMillis();
-      while (sleepTime > 0) {
-        try {
-          Thread.sleep(sleepTime);
-        } catch (InterruptedException ignored) {
-        }
-
-        sleepTime = endTime - System.currentTimeMillis();
-      }
-
-      switch (target.getState()) {
-        case NOT_STARTED:
-        case RUNNING:
-          log.warn("Interrupting task " + target + " that timed out after " + (endTime - startTime) + " millis.");
-          target.timeout();
-          break;
-        case TIMED_OUT:
-        case INTERRUPTED:
-        case FAILED:
-        case SUCCEEDED:
-          log.info("Interrupter has no work to do, " + target + " already completed.");
-          break;
-      }
-
-      try {
-        Thread.sleep(DELETE_TASK_INFO_WINDOW);
-      } catch (InterruptedException ignored) {
-      }
-
-      deleteTaskInfo(target.getUuid());
+  static private void timeoutTask(DaemonTask target, long timeout) {
+    switch (target.getState()) {
+      case NOT_STARTED:
+      case RUNNING:
+        log.warn("Interrupting task " + target + " that timed out after " + timeout + " millis.");
+        target.timeout();
+        break;
+      case TIMED_OUT:
+      case INTERRUPTED:
+      case FAILED:
+      case SUCCEEDED:
+        log.info("Interrupter has no work to do, " + target + " already completed.");
+        break;
     }
   }
 
@@ -138,8 +282,9 @@ public class TaskRepository {
       this.fatalException = task.getFatalError();
       this.jobs = task.getRunningJobs();
 
-      if (!task.getEvents().isEmpty()) {
-        this.lastEvent = task.getEvents().get(task.getEvents().size() - 1).toString();
+      DaemonEvent event = task.getLastEvent();
+      if (event != null) {
+        this.lastEvent = event.toString();
       }
 
       this.children = (List<String>) task.getChildren()
@@ -152,4 +297,39 @@ public class TaskRepository {
   static public <C, T> DaemonTask<C, T> getTask(String uuid) {
     return tasks.get(uuid);
   }
+
+  // The longest a client may wait for progress in one request.
+  private static long MAX_PROGRESS_WAIT = TimeUnit.SECONDS.toMillis(30);
+
+  /**
+   * Returns what changed in a task tree after the "since" cursor, waiting up to waitMillis for something to change.
+   *
+   * @return null if no such task exists.
+   */
+  static public DaemonTaskProgress getProgress(String uuid, long since, long waitMillis) throws InterruptedException {
+    DaemonTask<?, ?> task = tasks.get(uuid);
+    if (task == null) {
+      return null;
+    }
+
+    long deadline = System.currentTimeMillis() + Math.min(waitMillis, MAX_PROGRESS_WAIT);
+    while (true) {
+      // Read the state before the cursor, so every event written before the task finished falls under the cursor.
+      boolean terminal = task.getState().isTerminal();
+      long cursor = DaemonTask.currentSequence();
+      long remaining = deadline - System.currentTimeMillis();
+
+      if (terminal || remaining <= 0 || updatedSince(task, since)) {
+        return DaemonTaskProgress.of(task, since, cursor);
+      }
+
+      DaemonTask.awaitUpdate(cursor, remaining);
+    }
+  }
+
+  static private boolean updatedSince(DaemonTask<?, ?> task, long since) {
+    boolean[] updated = new boolean[1];
+    task.consumeTaskTree(t -> updated[0] |= t.getLastUpdate() > since);
+    return updated[0];
+  }
 }
@@ -0,0 +1,86 @@
+/*
+ * Copyright 2018 Google, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License")
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.spinnaker.halyard.core.job.v1
+
+import spock.lang.Specification
+
+import java.nio.file.Files
+
+class BoundedOutputStreamSpec extends Specification {
+  void "keeps everything while under the limit"() {
+    setup:
+    def stream = new BoundedOutputStream(4, 4, null)
+
+    when:
+    stream.write("abcdef".bytes)
+
+    then:
+    stream.toString() == "abcdef"
+    new String(stream.readFrom(2)) == "cdef"
+    stream.total == 6
+  }
+
+  void "drops the middle of large output"() {
+    setup:
+    def stream = new BoundedOutputStream(2, 3, null)
+
+    when:
+    stream.write("abcdefghij".bytes)
+
+    then:
+    stream.toString() == "ab\n[... 5 bytes omitted ...]\nhij"
+    new String(stream.readFrom(0)) == stream.toString()
+    new String(stream.readFrom(4)) == "\n[... 3 bytes omitted ...]\nhij"
+    new String(stream.readFrom(8)) == "ij"
+    stream.total == 10
+  }
+
+  void "grows its buffers past their initial size up to the limits"() {
+    setup:
+    def stream = new BoundedOutputStream(3000, 5000, null)
+    def output = (0..<10000).collect { (char) ('a' + it % 26) }.join()
+
+    when:
+    stream.write(output.bytes)
+
+    then:
+    stream.toString() == output.substring(0, 3000) + "\n[... 2000 bytes omitted ...]\n" + output.substring(5000)
+    stream.total == 10000
+  }
+
+  void "reads dropped output back from the spill file"() {
+    setup:
+    def file = Files.createTempFile("bounded", ".log")
+    def stream = new BoundedOutputStream(2, 3, file)
+
+    when:
+    stream.write("abcdefghij".bytes)
+
+    then:
+    new String(stream.readFrom(1)) == "bcdefghij"
+
+    when:
+    stream.close()
+
+    then:
+    new String(Files.readAllBytes(file)) == "abcdefghij"
+    stream.spillFile == file
+
+    cleanup:
+    Files.deleteIfExists(file)
+  }
+}
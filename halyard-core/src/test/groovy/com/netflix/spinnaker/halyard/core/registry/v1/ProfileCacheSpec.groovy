@@ -0,0 +1,66 @@
+/*
+ * Copyright 2018 Google, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License")
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.spinnaker.halyard.core.registry.v1
+
+import spock.lang.Specification
+
+import java.nio.file.Files
+
+class ProfileCacheSpec extends Specification {
+  ProfileCache cache
+
+  void setup() {
+    cache = new ProfileCache()
+    cache.profileCachePath = Files.createTempDirectory("profile-cache").toString()
+  }
+
+  void "only loads immutable objects once"() {
+    setup:
+    def loads = 0
+    def loader = { loads++; "contents".bytes } as ProfileCache.Loader
+
+    when:
+    def first = cache.get("bucket", "clouddriver/1.0.0/clouddriver.yml", true, loader)
+    def second = cache.get("bucket", "clouddriver/1.0.0/clouddriver.yml", true, loader)
+
+    then:
+    new String(first) == "contents"
+    new String(second) == "contents"
+    loads == 1
+    cache.stats.hits.get() == 1
+    cache.stats.misses.get() == 1
+  }
+
+  void "reloads expired mutable objects, falling back to the cached copy"() {
+    setup:
+    cache.mutableTtlMs = -1
+    cache.get("bucket", "versions.yml", false, { "old".bytes } as ProfileCache.Loader)
+
+    expect:
+    new String(cache.get("bucket", "versions.yml", false, { "new".bytes } as ProfileCache.Loader)) == "new"
+    new String(cache.get("bucket", "versions.yml", false, { throw new IOException("offline") } as ProfileCache.Loader)) == "new"
+    cache.stats.staleHits.get() == 1
+  }
+
+  void "fails when nothing is cached"() {
+    when:
+    cache.get("bucket", "bom/1.0.0.yml", true, { throw new IOException("offline") } as ProfileCache.Loader)
+
+    then:
+    thrown(IOException)
+  }
+}
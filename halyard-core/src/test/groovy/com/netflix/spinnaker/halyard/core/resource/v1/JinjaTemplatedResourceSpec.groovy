@@ -0,0 +1,58 @@
+/*
+ * Copyright 2018 Google, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License")
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.spinnaker.halyard.core.resource.v1
+
+import com.netflix.spinnaker.halyard.core.error.v1.HalException
+import spock.lang.Specification
+
+class JinjaTemplatedResourceSpec extends Specification {
+  static class KeyedResource extends JinjaTemplatedResource {
+    String key
+    String contents
+
+    @Override
+    protected String getContents() {
+      return contents
+    }
+
+    @Override
+    protected String getTemplateKey() {
+      return key
+    }
+  }
+
+  void "re-renders a parsed template with new bindings"() {
+    setup:
+    def template = "name: {{ name }}{% if replicas %}\nreplicas: {{ replicas }}{% endif %}"
+
+    when:
+    def first = new KeyedResource(key: "reuse", contents: template).addBinding("name", "clouddriver").addBinding("replicas", 2).toString()
+    def second = new KeyedResource(key: "reuse", contents: template).addBinding("name", "deck").toString()
+
+    then:
+    first == "name: clouddriver\nreplicas: 2"
+    second == "name: deck"
+  }
+
+  void "reports templates that fail to render"() {
+    when:
+    new KeyedResource(key: "broken", contents: "{% if %}").toString()
+
+    then:
+    thrown(HalException)
+  }
+}
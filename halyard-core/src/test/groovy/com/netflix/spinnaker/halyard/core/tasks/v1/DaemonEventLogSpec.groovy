@@ -0,0 +1,72 @@
+/*
+ * Copyright 2018 Google, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License")
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.spinnaker.halyard.core.tasks.v1
+
+import spock.lang.Specification
+
+import java.nio.file.Files
+
+class DaemonEventLogSpec extends Specification {
+  void cleanup() {
+    DaemonEventLog.configure(1000, null)
+  }
+
+  void "keeps only the most recent events, and spills the rest"() {
+    setup:
+    def directory = Files.createTempDirectory("task-logs")
+    DaemonEventLog.configure(3, directory)
+    def log = new DaemonEventLog("task")
+
+    when:
+    (1..5).each { log.append(new DaemonEvent().setMessage("event " + it).setStage("stage").setTimestamp(0L).setSequence(it)) }
+    log.close()
+
+    then:
+    log.retained()*.message == ["event 3", "event 4", "event 5"]
+    log.last().message == "event 5"
+    directory.resolve("task.log").readLines().size() == 2
+  }
+
+  void "deletes its spill file"() {
+    setup:
+    def directory = Files.createTempDirectory("task-logs")
+    DaemonEventLog.configure(1, directory)
+    def log = new DaemonEventLog("task")
+    (1..2).each { log.append(new DaemonEvent().setMessage("event " + it).setSequence(it)) }
+    log.close()
+
+    when:
+    log.delete()
+
+    then:
+    !Files.exists(directory.resolve("task.log"))
+  }
+
+  void "returns events between cursors"() {
+    setup:
+    DaemonEventLog.configure(10, null)
+    def log = new DaemonEventLog("task")
+
+    when:
+    [2, 4, 6, 8].each { log.append(new DaemonEvent().setMessage("event " + it).setSequence(it)) }
+
+    then:
+    log.between(0, 10)*.sequence == [2L, 4L, 6L, 8L]
+    log.between(4, 6)*.sequence == [6L]
+    log.between(8, 10).isEmpty()
+  }
+}
@@ -0,0 +1,58 @@
+/*
+ * Copyright 2018 Google, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License")
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.spinnaker.halyard.core.tasks.v1
+
+import spock.lang.Specification
+
+class DaemonTaskSpec extends Specification {
+  void cleanup() {
+    DaemonEventLog.configure(1000, null)
+  }
+
+  void "a reader following the cursor sees every event written concurrently"() {
+    setup:
+    def writers = 4
+    def eventsPerWriter = 2000
+    DaemonEventLog.configure(writers * eventsPerWriter, null)
+    def task = new DaemonTask("root", 0)
+    def children = (1..writers).collect { new DaemonTask("child " + it, 0) }
+    task.children.addAll(children)
+    def threads = children.collect { child ->
+      Thread.start {
+        child.newStage("stage")
+        (1..eventsPerWriter).each { child.writeMessage(it.toString()) }
+      }
+    }
+
+    when:
+    def received = []
+    def since = 0L
+    while (threads.any { it.alive }) {
+      def progress = DaemonTaskProgress.of(task, since, DaemonTask.currentSequence())
+      received.addAll(progress.tasks.collectMany { it.events })
+      since = progress.cursor
+    }
+
+    threads*.join()
+    def progress = DaemonTaskProgress.of(task, since, DaemonTask.currentSequence())
+    received.addAll(progress.tasks.collectMany { it.events })
+
+    then:
+    received.size() == writers * eventsPerWriter
+    received*.sequence.unique().size() == writers * eventsPerWriter
+  }
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright 2018 Google, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License")
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.spinnaker.halyard.core.tasks.v1
+
+import com.netflix.spinnaker.halyard.core.DaemonResponse
+import com.netflix.spinnaker.halyard.core.problem.v1.ProblemSet
+import spock.lang.Specification
+import spock.lang.Timeout
+
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.TimeUnit
+
+class TaskRepositorySpec extends Specification {
+  void cleanup() {
+    TaskRepository.configureExecutor(TaskRepository.DEFAULT_MAX_THREADS, true)
+  }
+
+  @Timeout(30)
+  void "a parent holding the only thread runs its queued children itself"() {
+    setup:
+    TaskRepository.configureExecutor(1, false)
+
+    when:
+    def parent = TaskRepository.submitTask({
+      (1..3).each { i ->
+        DaemonTaskHandler.submitTask({ new DaemonResponse<Integer>(i, new ProblemSet()) }, "child " + i)
+      }
+
+      DaemonTaskHandler.reduceChildren(0, { a, b -> a + b }, { a, b -> a + b })
+    }, "parent", TimeUnit.SECONDS.toMillis(30))
+    parent.completion.get()
+
+    then:
+    parent.state == DaemonTask.State.SUCCEEDED
+    parent.response.responseBody == 6
+    parent.children*.state == [DaemonTask.State.SUCCEEDED] * 3
+  }
+
+  @Timeout(30)
+  void "tasks wait in a queue once every thread is busy"() {
+    setup:
+    TaskRepository.configureExecutor(1, false)
+    def release = new CountDownLatch(1)
+    def response = { new DaemonResponse<Void>(null, new ProblemSet()) }
+
+    when:
+    def running = TaskRepository.submitTask({ release.await(); response() }, "running", TimeUnit.SECONDS.toMillis(30))
+    def waiting = TaskRepository.submitTask(response, "waiting", TimeUnit.SECONDS.toMillis(30))
+
+    then:
+    TaskRepository.queuedTasks >= 1
+    waiting.state == DaemonTask.State.NOT_STARTED
+
+    when:
+    release.countDown()
+    running.completion.get()
+    waiting.completion.get()
+
+    then:
+    TaskRepository.queuedTasks == 0
+    waiting.state == DaemonTask.State.SUCCEEDED
+  }
+}
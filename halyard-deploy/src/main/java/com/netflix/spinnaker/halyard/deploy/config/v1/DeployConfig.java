@@ -18,10 +18,13 @@ package com.netflix.spinnaker.halyard.deploy.config.v1;
 
 import com.netflix.spinnaker.halyard.core.job.v1.JobExecutor;
 import com.netflix.spinnaker.halyard.core.job.v1.JobExecutorLocal;
+import com.netflix.spinnaker.halyard.deploy.spinnaker.v1.service.distributed.kubernetes.KubernetesClientCache;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.stereotype.Component;
 
+import javax.annotation.PreDestroy;
+
 @Component
 public class DeployConfig {
   @Bean
@@ -43,4 +46,9 @@ public class DeployConfig {
   String startupScriptPath(@Value("${spinnaker.startup.scriptsPath:/var/spinnaker/startup/}") String startupScriptPath) {
     return startupScriptPath;
   }
+
+  @PreDestroy
+  void closeKubernetesClients() {
+    KubernetesClientCache.closeAll();
+  }
 }
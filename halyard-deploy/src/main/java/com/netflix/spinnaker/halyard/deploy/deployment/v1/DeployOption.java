@@ -24,7 +24,9 @@ import java.util.Arrays;
 public enum DeployOption {
   OMIT_CONFIG("OMIT_CONFIG"),
   FLUSH_INFRASTRUCTURE_CACHES("FLUSH_INFRASTRUCTURE_CACHES"),
-  DELETE_ORPHANED_SERVICES("DELETE_ORPHANED_SERVICES");
+  DELETE_ORPHANED_SERVICES("DELETE_ORPHANED_SERVICES"),
+  FORCE("FORCE"),
+  DRY_RUN("DRY_RUN");
 
   final String name;
 
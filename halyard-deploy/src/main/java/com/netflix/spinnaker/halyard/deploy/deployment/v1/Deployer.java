@@ -24,6 +24,7 @@ import com.netflix.spinnaker.halyard.deploy.spinnaker.v1.service.SpinnakerServic
 import com.netflix.spinnaker.halyard.deploy.spinnaker.v1.service.SpinnakerServiceProvider;
 
 import java.util.List;
+import java.util.stream.Collectors;
 
 public interface Deployer<S extends SpinnakerServiceProvider<D>, D extends DeploymentDetails> {
   RemoteAction deploy(
@@ -32,6 +33,19 @@ public interface Deployer<S extends SpinnakerServiceProvider<D>, D extends Deplo
       ResolvedConfiguration resolvedConfiguration,
       List<SpinnakerService.Type> serviceTypes);
 
+  /**
+   * @return a description of how the services would be deployed, without deploying anything.
+   */
+  default String describePlan(
+      S serviceProvider,
+      D deploymentDetails,
+      ResolvedConfiguration resolvedConfiguration,
+      List<SpinnakerService.Type> serviceTypes) {
+    return "Deploy " + serviceTypes.stream()
+        .map(SpinnakerService.Type::getCanonicalName)
+        .collect(Collectors.joining(", "));
+  }
+
   void rollback(
       S serviceProvider,
       D deploymentDetails,
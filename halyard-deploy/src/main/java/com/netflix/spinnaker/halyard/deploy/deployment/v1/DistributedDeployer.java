@@ -16,6 +16,7 @@
 
 package com.netflix.spinnaker.halyard.deploy.deployment.v1;
 
+import com.netflix.spinnaker.halyard.config.config.v1.HalconfigDirectoryStructure;
 import com.netflix.spinnaker.halyard.config.model.v1.node.Account;
 import com.netflix.spinnaker.halyard.core.DaemonResponse;
 import com.netflix.spinnaker.halyard.core.RemoteAction;
@@ -23,6 +24,7 @@ import com.netflix.spinnaker.halyard.core.error.v1.HalException;
 import com.netflix.spinnaker.halyard.core.problem.v1.Problem;
 import com.netflix.spinnaker.halyard.core.problem.v1.ProblemBuilder;
 import com.netflix.spinnaker.halyard.core.tasks.v1.DaemonTaskHandler;
+import com.netflix.spinnaker.halyard.deploy.config.v1.ConfigParser;
 import com.netflix.spinnaker.halyard.deploy.services.v1.GenerateService.ResolvedConfiguration;
 import com.netflix.spinnaker.halyard.deploy.spinnaker.v1.RunningServiceDetails;
 import com.netflix.spinnaker.halyard.deploy.spinnaker.v1.SpinnakerRuntimeSettings;
@@ -34,6 +36,7 @@ import com.netflix.spinnaker.halyard.deploy.spinnaker.v1.service.RoscoService.Ro
 import com.netflix.spinnaker.halyard.deploy.spinnaker.v1.service.ServiceSettings;
 import com.netflix.spinnaker.halyard.deploy.spinnaker.v1.service.SpinnakerService;
 import com.netflix.spinnaker.halyard.deploy.spinnaker.v1.service.distributed.DistributedService;
+import com.netflix.spinnaker.halyard.deploy.spinnaker.v1.service.distributed.DistributedService.DeployPriority;
 import com.netflix.spinnaker.halyard.deploy.spinnaker.v1.service.distributed.DistributedServiceProvider;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -43,6 +46,7 @@ import redis.clients.jedis.Jedis;
 import retrofit.RetrofitError;
 import retrofit.client.Response;
 
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
@@ -50,6 +54,7 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
@@ -61,6 +66,12 @@ public class DistributedDeployer<T extends Account> implements
   @Autowired
   OrcaRunner orcaRunner;
 
+  @Autowired
+  HalconfigDirectoryStructure halconfigDirectoryStructure;
+
+  @Autowired
+  ConfigParser configParser;
+
   @Value("${deploy.maxRemainingServerGroups:2}")
   private Integer MAX_REMAINING_SERVER_GROUPS;
 
@@ -177,59 +188,33 @@ public class DistributedDeployer<T extends Account> implements
       ResolvedConfiguration resolvedConfiguration,
       List<SpinnakerService.Type> serviceTypes) {
     SpinnakerRuntimeSettings runtimeSettings = resolvedConfiguration.getRuntimeSettings();
+    Path timingsPath = halconfigDirectoryStructure.getDeployTimingsPath(deploymentDetails.getDeploymentName());
+    Map<String, Long> timings = new ConcurrentHashMap<>(readTimings(timingsPath));
 
     DaemonTaskHandler.newStage("Deploying Spinnaker");
-    // First deploy all services not owned by Spinnaker
-    for (DistributedService distributedService : serviceProvider
-        .getPrioritizedDistributedServices(serviceTypes)) {
-      SpinnakerService service = distributedService.getService();
-      ServiceSettings settings = resolvedConfiguration.getServiceSettings(service);
-      if (settings == null || !settings.getEnabled() || settings.getSkipLifeCycleManagement()) {
-        continue;
-      }
+    for (List<DistributedService> tier : planTiers(serviceProvider, resolvedConfiguration, serviceTypes)) {
+      DaemonTaskHandler.newStage("Deploying " + tier.stream()
+          .map(DistributedService::getServiceName)
+          .collect(Collectors.joining(", ")));
 
-      DaemonTaskHandler.newStage("Determining status of " + distributedService.getServiceName());
-      boolean safeToUpdate = settings.getSafeToUpdate();
-      RunningServiceDetails runningServiceDetails = distributedService
-          .getRunningServiceDetails(deploymentDetails, runtimeSettings);
-
-      if (distributedService.isRequiredToBootstrap() || !safeToUpdate) {
-        deployServiceManually(deploymentDetails, resolvedConfiguration, distributedService,
-            safeToUpdate);
-      } else {
+      for (DistributedService distributedService : tier) {
         DaemonResponse.StaticRequestBuilder<Void> builder = new DaemonResponse.StaticRequestBuilder<>(
             () -> {
-              if (runningServiceDetails.getLatestEnabledVersion() == null) {
-                DaemonTaskHandler.newStage(
-                    "Deploying " + distributedService.getServiceName() + " via provider API");
-                deployServiceManually(deploymentDetails, resolvedConfiguration, distributedService,
-                    safeToUpdate);
-              } else {
-                DaemonTaskHandler.newStage(
-                    "Deploying " + distributedService.getServiceName() + " via red/black");
-                try {
-                  Orca orca = serviceProvider
-                      .getDeployableService(SpinnakerService.Type.ORCA_BOOTSTRAP, Orca.class)
-                      .connectToPrimaryService(deploymentDetails, runtimeSettings);
-                  deployServiceWithOrca(deploymentDetails, resolvedConfiguration, orca,
-                      distributedService);
-                } catch (RetrofitError e) {
-                  String message = ((Map<String, String>) e.getBodyAs(Map.class)).get("message");
-                  throw new HalException(Problem.Severity.FATAL,
-                      "Unable to deploy service with Orca " + e + ": " + message, e);
-                }
-              }
-
+              long start = System.currentTimeMillis();
+              deployService(serviceProvider, deploymentDetails, resolvedConfiguration, distributedService);
+              timings.put(distributedService.getServiceName(), System.currentTimeMillis() - start);
               return null;
             });
         DaemonTaskHandler
             .submitTask(builder::build, "Deploy " + distributedService.getServiceName());
       }
-    }
 
-    DaemonTaskHandler.message("Waiting on deployments to complete");
-    DaemonTaskHandler.reduceChildren(null, (t1, t2) -> null, (t1, t2) -> null)
-        .getProblemSet().throwifSeverityExceeds(Problem.Severity.WARNING);
+      // Any service in a later tier may depend on any service in this one.
+      DaemonTaskHandler.message("Waiting on deployments to complete");
+      DaemonTaskHandler.reduceChildren(null, (t1, t2) -> null, (t1, t2) -> null)
+          .getProblemSet().throwifSeverityExceeds(Problem.Severity.WARNING);
+      writeTimings(timingsPath, timings);
+    }
 
     DistributedService<Orca, T> orca = serviceProvider
         .getDeployableService(SpinnakerService.Type.ORCA);
@@ -250,6 +235,147 @@ public class DistributedDeployer<T extends Account> implements
     return new RemoteAction();
   }
 
+  @Override
+  public String describePlan(DistributedServiceProvider<T> serviceProvider,
+      AccountDeploymentDetails<T> deploymentDetails,
+      ResolvedConfiguration resolvedConfiguration,
+      List<SpinnakerService.Type> serviceTypes) {
+    Map<String, Long> timings = readTimings(halconfigDirectoryStructure.getDeployTimingsPath(deploymentDetails.getDeploymentName()));
+    List<List<DistributedService>> tiers = planTiers(serviceProvider, resolvedConfiguration, serviceTypes);
+
+    StringBuilder result = new StringBuilder();
+    long criticalPathMillis = 0;
+    boolean allTimed = true;
+    for (int i = 0; i < tiers.size(); i++) {
+      result.append("Tier ").append(i + 1).append(":\n");
+      long tierMillis = 0;
+      for (DistributedService distributedService : tiers.get(i)) {
+        ServiceSettings settings = resolvedConfiguration.getServiceSettings(distributedService.getService());
+        String method = distributedService.isRequiredToBootstrap() || !settings.getSafeToUpdate()
+            ? "via provider API"
+            : "via red/black if already running";
+
+        Long millis = timings.get(distributedService.getServiceName());
+        if (millis == null) {
+          allTimed = false;
+        } else {
+          tierMillis = Math.max(tierMillis, millis);
+        }
+
+        result.append("  - ").append(distributedService.getServiceName())
+            .append(" ").append(method)
+            .append(" (").append(millis == null ? "not deployed before" : "took " + formatDuration(millis) + " last time").append(")\n");
+      }
+
+      criticalPathMillis += tierMillis;
+    }
+
+    result.append("Expected critical path: ")
+        .append(allTimed ? "" : "at least ")
+        .append(formatDuration(criticalPathMillis))
+        .append(", based on each service's last deploy");
+    return result.toString();
+  }
+
+  /**
+   * Groups the enabled services into tiers of equal deploy priority, highest priority first. Services in a tier don't
+   * depend on one another, so they're deployed concurrently, but each tier is only started once the last is deployed.
+   */
+  private List<List<DistributedService>> planTiers(DistributedServiceProvider<T> serviceProvider,
+      ResolvedConfiguration resolvedConfiguration,
+      List<SpinnakerService.Type> serviceTypes) {
+    List<List<DistributedService>> tiers = new ArrayList<>();
+    DeployPriority tierPriority = null;
+    for (DistributedService distributedService : serviceProvider
+        .getPrioritizedDistributedServices(serviceTypes)) {
+      SpinnakerService service = distributedService.getService();
+      ServiceSettings settings = resolvedConfiguration.getServiceSettings(service);
+      if (settings == null || !settings.getEnabled() || settings.getSkipLifeCycleManagement()) {
+        continue;
+      }
+
+      if (tierPriority == null || tierPriority.compareTo(distributedService.getDeployPriority()) != 0) {
+        tiers.add(new ArrayList<>());
+        tierPriority = distributedService.getDeployPriority();
+      }
+
+      tiers.get(tiers.size() - 1).add(distributedService);
+    }
+
+    return tiers;
+  }
+
+  private void deployService(DistributedServiceProvider<T> serviceProvider,
+      AccountDeploymentDetails<T> deploymentDetails,
+      ResolvedConfiguration resolvedConfiguration,
+      DistributedService distributedService) {
+    SpinnakerRuntimeSettings runtimeSettings = resolvedConfiguration.getRuntimeSettings();
+    ServiceSettings settings = resolvedConfiguration.getServiceSettings(distributedService.getService());
+    boolean safeToUpdate = settings.getSafeToUpdate();
+
+    if (distributedService.isRequiredToBootstrap() || !safeToUpdate) {
+      deployServiceManually(deploymentDetails, resolvedConfiguration, distributedService,
+          safeToUpdate);
+      return;
+    }
+
+    DaemonTaskHandler.newStage("Determining status of " + distributedService.getServiceName());
+    RunningServiceDetails runningServiceDetails = distributedService
+        .getRunningServiceDetails(deploymentDetails, runtimeSettings);
+
+    if (runningServiceDetails.getLatestEnabledVersion() == null) {
+      DaemonTaskHandler.newStage(
+          "Deploying " + distributedService.getServiceName() + " via provider API");
+      deployServiceManually(deploymentDetails, resolvedConfiguration, distributedService,
+          safeToUpdate);
+    } else {
+      DaemonTaskHandler.newStage(
+          "Deploying " + distributedService.getServiceName() + " via red/black");
+      try {
+        Orca orca = serviceProvider
+            .getDeployableService(SpinnakerService.Type.ORCA_BOOTSTRAP, Orca.class)
+            .connectToPrimaryService(deploymentDetails, runtimeSettings);
+        deployServiceWithOrca(deploymentDetails, resolvedConfiguration, orca,
+            distributedService);
+      } catch (RetrofitError e) {
+        String message = ((Map<String, String>) e.getBodyAs(Map.class)).get("message");
+        throw new HalException(Problem.Severity.FATAL,
+            "Unable to deploy service with Orca " + e + ": " + message, e);
+      }
+    }
+  }
+
+  private Map<String, Long> readTimings(Path path) {
+    Map<String, Long> result = new HashMap<>();
+    if (!path.toFile().exists()) {
+      return result;
+    }
+
+    try {
+      Map<String, Object> timings = configParser.read(path, Map.class);
+      if (timings != null) {
+        timings.forEach((k, v) -> result.put(k, ((Number) v).longValue()));
+      }
+    } catch (RuntimeException e) {
+      log.warn("Unable to read previous deploy timings from " + path, e);
+    }
+
+    return result;
+  }
+
+  private void writeTimings(Path path, Map<String, Long> timings) {
+    try {
+      configParser.atomicWrite(path, new HashMap<>(timings));
+    } catch (RuntimeException e) {
+      log.warn("Unable to record deploy timings to " + path, e);
+    }
+  }
+
+  private static String formatDuration(long millis) {
+    long seconds = (millis + 999) / 1000;
+    return String.format("%dm%02ds", seconds / 60, seconds % 60);
+  }
+
   private <T extends Account> void deployServiceManually(AccountDeploymentDetails<T> details,
       ResolvedConfiguration resolvedConfiguration,
       DistributedService distributedService,
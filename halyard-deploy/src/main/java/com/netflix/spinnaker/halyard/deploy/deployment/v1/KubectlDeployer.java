@@ -18,70 +18,167 @@
 
 package com.netflix.spinnaker.halyard.deploy.deployment.v1;
 
+import com.netflix.spinnaker.halyard.config.config.v1.HalconfigDirectoryStructure;
 import com.netflix.spinnaker.halyard.config.model.v1.providers.kubernetes.KubernetesAccount;
+import com.netflix.spinnaker.halyard.core.DaemonResponse;
 import com.netflix.spinnaker.halyard.core.RemoteAction;
+import com.netflix.spinnaker.halyard.core.problem.v1.Problem;
+import com.netflix.spinnaker.halyard.core.tasks.v1.DaemonTask;
 import com.netflix.spinnaker.halyard.core.tasks.v1.DaemonTaskHandler;
+import com.netflix.spinnaker.halyard.core.tasks.v1.DaemonTaskInterrupted;
+import com.netflix.spinnaker.halyard.deploy.config.v1.ConfigParser;
 import com.netflix.spinnaker.halyard.deploy.services.v1.GenerateService;
 import com.netflix.spinnaker.halyard.deploy.spinnaker.v1.SpinnakerRuntimeSettings;
 import com.netflix.spinnaker.halyard.deploy.spinnaker.v1.service.ServiceSettings;
 import com.netflix.spinnaker.halyard.deploy.spinnaker.v1.service.SpinnakerService;
+import com.netflix.spinnaker.halyard.deploy.spinnaker.v1.service.distributed.DistributedService.DeployPriority;
 import com.netflix.spinnaker.halyard.deploy.spinnaker.v1.service.distributed.SidecarService;
+import com.netflix.spinnaker.halyard.deploy.spinnaker.v1.service.distributed.kubernetes.v2.KubectlApplyBatch;
 import com.netflix.spinnaker.halyard.deploy.spinnaker.v1.service.distributed.kubernetes.v2.KubectlServiceProvider;
+import com.netflix.spinnaker.halyard.deploy.spinnaker.v1.service.distributed.kubernetes.v2.KubernetesManifestLedger;
+import com.netflix.spinnaker.halyard.deploy.spinnaker.v1.service.distributed.kubernetes.v2.KubernetesV2Backend;
 import com.netflix.spinnaker.halyard.deploy.spinnaker.v1.service.distributed.kubernetes.v2.KubernetesV2Service;
-import com.netflix.spinnaker.halyard.deploy.spinnaker.v1.service.distributed.kubernetes.v2.KubernetesV2Utils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 import java.util.stream.Collectors;
 
 @Component
 public class KubectlDeployer implements Deployer<KubectlServiceProvider,AccountDeploymentDetails<KubernetesAccount>> {
+  @Value("${deploy.kubectl.parallelism:4}")
+  Integer parallelism = 4;
+
+  @Autowired
+  HalconfigDirectoryStructure halconfigDirectoryStructure;
+
+  @Autowired
+  ConfigParser configParser;
+
   @Override
   public RemoteAction deploy(KubectlServiceProvider serviceProvider,
       AccountDeploymentDetails<KubernetesAccount> deploymentDetails,
       GenerateService.ResolvedConfiguration resolvedConfiguration,
       List<SpinnakerService.Type> serviceTypes) {
     List<KubernetesV2Service> services = serviceProvider.getServicesByPriority(serviceTypes);
-    services.stream().forEach((service) -> {
+    KubernetesAccount account = deploymentDetails.getAccount();
+    KubernetesV2Backend backend = KubernetesV2Backend.forDeployment(deploymentDetails.getDeploymentConfiguration());
+    KubernetesManifestLedger ledger = new KubernetesManifestLedger(configParser,
+        halconfigDirectoryStructure.getAppliedManifestsPath(deploymentDetails.getDeploymentName()));
+
+    // Services are sorted by priority, and every service in a priority tier is applied in one call to the cluster.
+    List<List<KubernetesV2Service>> tiers = new ArrayList<>();
+    DeployPriority tierPriority = null;
+    for (KubernetesV2Service service : services) {
       if (service instanceof SidecarService) {
-        return;
+        continue;
       }
 
       ServiceSettings settings = resolvedConfiguration.getServiceSettings((SpinnakerService) service);
       if (settings == null) {
-        return;
+        continue;
       }
 
       if (settings.getEnabled() != null && !settings.getEnabled()) {
-        return;
+        continue;
       }
 
       if (settings.getSkipLifeCycleManagement() != null && settings.getSkipLifeCycleManagement()) {
-        return;
+        continue;
       }
-      
-      DaemonTaskHandler.newStage("Deploying " + service.getServiceName() + " with kubectl");
-
-      KubernetesAccount account = deploymentDetails.getAccount();
-      String namespaceDefinition = service.getNamespaceYaml(resolvedConfiguration);
-      String serviceDefinition = service.getServiceYaml(resolvedConfiguration);
 
-      if (!KubernetesV2Utils.exists(account, namespaceDefinition)) {
-        KubernetesV2Utils.apply(account, namespaceDefinition);
+      if (tierPriority == null || tierPriority.compareTo(service.getDeployPriority()) != 0) {
+        tiers.add(new ArrayList<>());
+        tierPriority = service.getDeployPriority();
       }
 
-      if (!KubernetesV2Utils.exists(account, serviceDefinition)) {
-        KubernetesV2Utils.apply(account, serviceDefinition);
+      tiers.get(tiers.size() - 1).add(service);
+    }
+
+    for (List<KubernetesV2Service> tier : tiers) {
+      KubectlApplyBatch batch = new KubectlApplyBatch();
+      if (parallelism > 1 && tier.size() > 1) {
+        prepareConcurrently(batch, tier, deploymentDetails, resolvedConfiguration);
+      } else {
+        tier.forEach(s -> prepare(batch, s, deploymentDetails, resolvedConfiguration));
       }
 
-      String resourceDefinition = service.getResourceYaml(deploymentDetails, resolvedConfiguration);
-      DaemonTaskHandler.message("Running kubectl apply on the resource definition...");
-      KubernetesV2Utils.apply(account, resourceDefinition);
-    });
+      DaemonTaskHandler.newStage("Deploying " + tier.stream()
+          .map(KubernetesV2Service::getServiceName)
+          .collect(Collectors.joining(", ")));
+      DaemonTaskHandler.message("Applying the namespace, service, secret, and resource definitions...");
+      batch.run(backend, account, ledger);
+    }
 
     return new RemoteAction();
   }
 
+  /**
+   * Prepares each service in a tier as a child task, at most "parallelism" at a time. Tiers are still deployed one
+   * after the other, since a later tier may depend on an earlier one.
+   */
+  private void prepareConcurrently(KubectlApplyBatch batch,
+      List<KubernetesV2Service> tier,
+      AccountDeploymentDetails<KubernetesAccount> deploymentDetails,
+      GenerateService.ResolvedConfiguration resolvedConfiguration) {
+    // Children are only submitted once there's room for them, so none holds a thread while waiting for its turn.
+    List<DaemonTask> running = new ArrayList<>();
+    for (KubernetesV2Service service : tier) {
+      if (running.size() >= parallelism) {
+        awaitAny(running);
+      }
+
+      DaemonResponse.StaticRequestBuilder<Void> builder = new DaemonResponse.StaticRequestBuilder<>(
+          () -> {
+            prepare(batch, service, deploymentDetails, resolvedConfiguration);
+            return null;
+          });
+      DaemonTask child = DaemonTaskHandler.submitTask(builder::build, "Prepare " + service.getServiceName());
+      running.add(child);
+    }
+
+    DaemonTaskHandler.message("Waiting on services to be prepared");
+    DaemonTaskHandler.reduceChildren(null, (t1, t2) -> null, (t1, t2) -> null)
+        .getProblemSet().throwifSeverityExceeds(Problem.Severity.WARNING);
+  }
+
+  private static void awaitAny(List<DaemonTask> running) {
+    // A child still waiting for a thread is run here instead, which is as good as waiting for it to finish.
+    for (DaemonTask child : running) {
+      if (DaemonTaskHandler.runIfQueued(child)) {
+        break;
+      }
+    }
+
+    try {
+      CompletableFuture.anyOf(running.stream()
+          .map(DaemonTask::getCompletion)
+          .toArray(CompletableFuture[]::new)).get();
+    } catch (InterruptedException e) {
+      throw new DaemonTaskInterrupted(e);
+    } catch (ExecutionException e) {
+      // Failures are reported once all children are reduced.
+    }
+
+    running.removeIf(child -> child.getCompletion().isDone());
+  }
+
+  private static void prepare(KubectlApplyBatch batch,
+      KubernetesV2Service service,
+      AccountDeploymentDetails<KubernetesAccount> deploymentDetails,
+      GenerateService.ResolvedConfiguration resolvedConfiguration) {
+    DaemonTaskHandler.newStage("Preparing " + service.getServiceName() + " for deployment");
+    batch.createIfAbsent(service.getNamespaceYaml(resolvedConfiguration))
+        .createIfAbsent(service.getServiceYaml(resolvedConfiguration));
+
+    String resourceDefinition = service.getResourceYaml(batch, deploymentDetails, resolvedConfiguration);
+    batch.apply(resourceDefinition);
+  }
+
   @Override
   public void rollback(KubectlServiceProvider serviceProvider,
       AccountDeploymentDetails<KubernetesAccount> deploymentDetails,
@@ -149,9 +246,11 @@ public class KubectlDeployer implements Deployer<KubectlServiceProvider,AccountD
       }
       KubernetesAccount account = deploymentDetails.getAccount();
 
-      DaemonTaskHandler.newStage("Deleting disabled service " + service.getServiceName() + " with kubectl");
-      DaemonTaskHandler.message("Running kubectl delete on the resource, service, and secret definitions...");
-      KubernetesV2Utils.delete(account, service.getNamespace(settings), service.getServiceName());
+      DaemonTaskHandler.newStage("Deleting disabled service " + service.getServiceName());
+      DaemonTaskHandler.message("Deleting the resource, service, and secret definitions...");
+      KubernetesV2Backend.forDeployment(deploymentDetails.getDeploymentConfiguration())
+          .delete(account, service.getNamespace(settings), service.getServiceName());
+      KubernetesManifestLedger.discard(halconfigDirectoryStructure.getAppliedManifestsPath(deploymentDetails.getDeploymentName()));
     });
   }
 }
@@ -0,0 +1,216 @@
+/*
+ * Copyright 2018 Google, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License")
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.spinnaker.halyard.deploy.deployment.v1;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.netflix.spinnaker.halyard.core.tasks.v1.ReadinessWaiter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
+
+/**
+ * Schedules polls of every execution being monitored in Orca from a single thread, rather than dedicating a thread to
+ * each one. On every tick, each execution that's due is polled on a small pool, and the tasks waiting on it are woken
+ * up to report progress. A poll that takes too long (e.g. through a dead tunnel) is cancelled and fails its execution,
+ * rather than holding up the others.
+ *
+ * Each execution is polled on its own interval, which backs off while nothing changes, drops back to the minimum
+ * whenever a step completes, and stays short once there's at most one step left, since that's when it's most likely
+ * to finish.
+ */
+@Slf4j
+@Component
+public class OrcaExecutionMonitor {
+  @Value("${deploy.orcaMonitor.tickMillis:250}")
+  long tickMillis = 250;
+
+  @Value("${deploy.orcaMonitor.minIntervalMillis:1000}")
+  long minIntervalMillis = 1000;
+
+  @Value("${deploy.orcaMonitor.maxIntervalMillis:10000}")
+  long maxIntervalMillis = 10000;
+
+  @Value("${deploy.orcaMonitor.pollThreads:4}")
+  int pollThreads = 4;
+
+  @Value("${deploy.orcaMonitor.pollTimeoutMillis:60000}")
+  long pollTimeoutMillis = 60000;
+
+  private final Set<Execution<?>> executions = ConcurrentHashMap.newKeySet();
+  private ScheduledExecutorService scheduler;
+  private ExecutorService pollExecutor;
+
+  /**
+   * An execution being monitored. It fires after every poll, so a waiting task can report the latest state.
+   */
+  public class Execution<T> extends ReadinessWaiter.Latch {
+    private final Supplier<T> poll;
+    private final Predicate<T> complete;
+    private final ToIntFunction<T> remaining;
+    private final CompletableFuture<T> result = new CompletableFuture<>();
+
+    private volatile T latest;
+    private long interval = minIntervalMillis;
+    private volatile long nextPoll;
+    private int lastRemaining = Integer.MAX_VALUE;
+    // Only replaced by the scheduler thread.
+    private volatile Future<?> inFlight;
+    private long pollStarted;
+
+    Execution(Supplier<T> poll, Predicate<T> complete, ToIntFunction<T> remaining) {
+      this.poll = poll;
+      this.complete = complete;
+      this.remaining = remaining;
+    }
+
+    /**
+     * @return the state read by the most recent poll, or null if it hasn't been polled yet.
+     */
+    public T getLatest() {
+      return latest;
+    }
+
+    /**
+     * @return completes with the first completed state read, or exceptionally if a poll failed.
+     */
+    public CompletableFuture<T> getResult() {
+      return result;
+    }
+
+    /**
+     * Stops monitoring this execution, e.g. because the task waiting on it was interrupted.
+     */
+    public void cancel() {
+      executions.remove(this);
+      result.cancel(false);
+
+      Future<?> pending = inFlight;
+      if (pending != null) {
+        pending.cancel(true);
+      }
+    }
+
+    private void pollIfDue(long now) {
+      Future<?> pending = inFlight;
+      if (pending != null) {
+        if (!pending.isDone() && now - pollStarted > pollTimeoutMillis) {
+          pending.cancel(true);
+          executions.remove(this);
+          result.completeExceptionally(new IllegalStateException("Orca didn't respond within " + pollTimeoutMillis + "ms"));
+          fire();
+        } else if (pending.isDone()) {
+          inFlight = null;
+        }
+
+        return;
+      }
+
+      if (now < nextPoll) {
+        return;
+      }
+
+      pollStarted = now;
+      inFlight = getPollExecutor().submit(this::pollNow);
+    }
+
+    private void pollNow() {
+      try {
+        T state = poll.get();
+        latest = state;
+        if (complete.test(state)) {
+          executions.remove(this);
+          result.complete(state);
+        } else {
+          int left = remaining.applyAsInt(state);
+          interval = left < lastRemaining ? minIntervalMillis : Math.min(interval * 2, maxIntervalMillis);
+          if (left <= 1) {
+            interval = Math.min(interval, 2 * minIntervalMillis);
+          }
+
+          lastRemaining = left;
+          nextPoll = System.currentTimeMillis() + interval;
+        }
+      } catch (RuntimeException e) {
+        executions.remove(this);
+        result.completeExceptionally(e);
+      }
+
+      fire();
+    }
+  }
+
+  /**
+   * Starts monitoring an execution, which is polled right away.
+   *
+   * @param poll reads the execution's current state.
+   * @param complete decides whether that state is final.
+   * @param remaining counts the steps left to run in that state.
+   * @return the monitored execution.
+   */
+  public <T> Execution<T> monitor(Supplier<T> poll, Predicate<T> complete, ToIntFunction<T> remaining) {
+    Execution<T> execution = new Execution<>(poll, complete, remaining);
+    executions.add(execution);
+    getScheduler();
+    return execution;
+  }
+
+  private void tick() {
+    long now = System.currentTimeMillis();
+    for (Execution<?> execution : executions) {
+      try {
+        execution.pollIfDue(now);
+      } catch (Exception e) {
+        log.warn("Unexpected failure monitoring an Orca execution", e);
+      }
+    }
+  }
+
+  private synchronized ExecutorService getPollExecutor() {
+    if (pollExecutor == null) {
+      pollExecutor = Executors.newFixedThreadPool(pollThreads, new ThreadFactoryBuilder()
+          .setNameFormat("orca-poll-%d")
+          .setDaemon(true)
+          .build());
+    }
+
+    return pollExecutor;
+  }
+
+  private synchronized ScheduledExecutorService getScheduler() {
+    if (scheduler == null) {
+      scheduler = Executors.newSingleThreadScheduledExecutor(new ThreadFactoryBuilder()
+          .setNameFormat("orca-monitor-%d")
+          .setDaemon(true)
+          .build());
+      scheduler.scheduleWithFixedDelay(this::tick, 0, tickMillis, TimeUnit.MILLISECONDS);
+    }
+
+    return scheduler;
+  }
+}
@@ -22,6 +22,7 @@ import com.netflix.spinnaker.halyard.core.error.v1.HalException;
 import com.netflix.spinnaker.halyard.core.problem.v1.Problem;
 import com.netflix.spinnaker.halyard.core.problem.v1.ProblemBuilder;
 import com.netflix.spinnaker.halyard.core.tasks.v1.DaemonTaskHandler;
+import com.netflix.spinnaker.halyard.core.tasks.v1.DaemonTaskInterrupted;
 import com.netflix.spinnaker.halyard.deploy.spinnaker.v1.service.OrcaService.Orca;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
@@ -38,6 +39,9 @@ public class OrcaRunner {
   @Autowired
   private ObjectMapper objectMapper;
 
+  @Autowired
+  private OrcaExecutionMonitor orcaExecutionMonitor;
+
   public void monitorTask(Supplier<String> submitTask, Orca orca) {
     final String id = getTaskEndpoint(submitTask);
 
@@ -118,24 +122,39 @@ public class OrcaRunner {
   }
 
   private void monitor(Supplier<Pipeline> getPipeline) {
-    String status;
+    OrcaExecutionMonitor.Execution<Pipeline> execution = orcaExecutionMonitor.monitor(getPipeline,
+        p -> !isRunning(p.getStatus()),
+        OrcaRunner::countIncompleteTasks);
+
     Pipeline pipeline;
     Set<String> loggedTasks = new HashSet<>();
     try {
-      pipeline = getPipeline.get();
-      status = pipeline.getStatus();
-
-      while (status.equalsIgnoreCase("running") || status.equalsIgnoreCase("not_started")) {
-        logPipelineOutput(pipeline, loggedTasks);
-        DaemonTaskHandler.safeSleep(TimeUnit.SECONDS.toMillis(10));
-        pipeline = getPipeline.get();
-        status = pipeline.getStatus();
+      while (!execution.getResult().isDone()) {
+        execution.await(TimeUnit.SECONDS.toMillis(10));
+        Pipeline latest = execution.getLatest();
+        if (latest != null) {
+          logPipelineOutput(latest, loggedTasks);
+        }
+      }
+
+      pipeline = execution.getResult().get();
+    } catch (InterruptedException e) {
+      throw new DaemonTaskInterrupted(e);
+    } catch (java.util.concurrent.ExecutionException e) {
+      Throwable cause = e.getCause();
+      if (cause instanceof RetrofitError) {
+        throw new HalException(new ProblemBuilder(Problem.Severity.FATAL, "Failed to monitor task: " + cause.getMessage()).build());
+      } else if (cause instanceof RuntimeException) {
+        throw (RuntimeException) cause;
       }
-    } catch (RetrofitError e) {
-      throw new HalException(new ProblemBuilder(Problem.Severity.FATAL, "Failed to monitor task: " + e.getMessage()).build());
+
+      throw new RuntimeException("Failed to monitor task: " + cause.getMessage(), cause);
+    } finally {
+      execution.cancel();
     }
 
     logPipelineOutput(pipeline, loggedTasks);
+    String status = pipeline.getStatus();
 
     if (status.equalsIgnoreCase("terminal")) {
       Problem problem = findExecutionError(pipeline);
@@ -143,6 +162,23 @@ public class OrcaRunner {
     }
   }
 
+  private static boolean isRunning(String status) {
+    return status.equalsIgnoreCase("running") || status.equalsIgnoreCase("not_started");
+  }
+
+  private static int countIncompleteTasks(Pipeline pipeline) {
+    if (pipeline.getStages() == null) {
+      return Integer.MAX_VALUE;
+    }
+
+    return (int) pipeline.getStages()
+        .stream()
+        .filter(s -> s.getTasks() != null)
+        .flatMap(s -> s.getTasks().stream())
+        .filter(t -> t.getStatus() == null || isRunning(t.getStatus()))
+        .count();
+  }
+
   private static void logPipelineOutput(Pipeline pipeline, Set<String> loggedTasks) {
     List<Pipeline.Stage> stages = pipeline.getStages();
     for (Pipeline.Stage stage : stages) {
@@ -44,6 +44,7 @@ import com.netflix.spinnaker.halyard.deploy.services.v1.GenerateService.Resolved
 import com.netflix.spinnaker.halyard.deploy.spinnaker.v1.SpinnakerRuntimeSettings;
 import com.netflix.spinnaker.halyard.deploy.spinnaker.v1.service.SpinnakerService;
 import com.netflix.spinnaker.halyard.deploy.spinnaker.v1.service.SpinnakerServiceProvider;
+import com.netflix.spinnaker.halyard.deploy.spinnaker.v1.service.distributed.kubernetes.v2.KubernetesManifestLedger;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang.StringUtils;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -268,6 +269,18 @@ public class DeployService {
           .collect(Collectors.toList());
     }
 
+    if (deployOptions.contains(DeployOption.DRY_RUN)) {
+      // Planning only needs each service's settings, so nothing is generated or written to the staging directory.
+      ResolvedConfiguration plannedConfiguration = new ResolvedConfiguration()
+          .setRuntimeSettings(serviceProvider.buildRuntimeSettings(deploymentConfiguration));
+      Deployer deployer = getDeployer(deploymentConfiguration);
+      DeploymentDetails deploymentDetails = getDeploymentDetails(deploymentConfiguration);
+
+      RemoteAction plan = new RemoteAction();
+      plan.setScriptDescription(deployer.describePlan(serviceProvider, deploymentDetails, plannedConfiguration, serviceTypes));
+      return plan;
+    }
+
     ResolvedConfiguration resolvedConfiguration;
     if (deployOptions.contains(DeployOption.OMIT_CONFIG)) {
       resolvedConfiguration = generateService.generateConfig(deploymentName, Collections.emptyList());
@@ -281,6 +294,10 @@ public class DeployService {
     Path serviceProfilesPath = halconfigDirectoryStructure.getServiceProfilesPath(deploymentName);
     configParser.atomicWrite(serviceProfilesPath, resolvedConfiguration.getServiceProfiles());
 
+    if (deployOptions.contains(DeployOption.FORCE)) {
+      KubernetesManifestLedger.discard(halconfigDirectoryStructure.getAppliedManifestsPath(deploymentName));
+    }
+
     Deployer deployer = getDeployer(deploymentConfiguration);
     DeploymentDetails deploymentDetails = getDeploymentDetails(deploymentConfiguration);
 
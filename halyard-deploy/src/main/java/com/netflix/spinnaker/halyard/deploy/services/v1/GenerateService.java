@@ -17,6 +17,7 @@
 package com.netflix.spinnaker.halyard.deploy.services.v1;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.netflix.spinnaker.halyard.config.config.v1.HalconfigDirectoryStructure;
 import com.netflix.spinnaker.halyard.config.model.v1.node.DeploymentConfiguration;
 import com.netflix.spinnaker.halyard.config.problem.v1.ConfigProblemBuilder;
@@ -24,6 +25,7 @@ import com.netflix.spinnaker.halyard.config.services.v1.DeploymentService;
 import com.netflix.spinnaker.halyard.core.error.v1.HalException;
 import com.netflix.spinnaker.halyard.core.problem.v1.Problem.Severity;
 import com.netflix.spinnaker.halyard.core.tasks.v1.DaemonTaskHandler;
+import com.netflix.spinnaker.halyard.core.tasks.v1.DaemonTaskInterrupted;
 import com.netflix.spinnaker.halyard.deploy.config.v1.ConfigParser;
 import com.netflix.spinnaker.halyard.deploy.deployment.v1.DeploymentDetails;
 import com.netflix.spinnaker.halyard.deploy.deployment.v1.ServiceProviderFactory;
@@ -36,6 +38,7 @@ import lombok.Data;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.io.FileUtils;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import java.io.File;
@@ -49,6 +52,12 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.stream.Collectors;
 
 @Component
@@ -72,6 +81,11 @@ public class GenerateService {
   @Autowired
   private ConfigParser configParser;
 
+  @Value("${generate.parallelism:4}")
+  int generateParallelism;
+
+  private ExecutorService generateExecutor;
+
   public ResolvedConfiguration generateConfigWithOptionalServices(String deploymentName, List<SpinnakerService.Type> serviceTypes) {
     DeploymentConfiguration deploymentConfiguration = deploymentService.getDeploymentConfiguration(deploymentName);
     SpinnakerServiceProvider<DeploymentDetails> serviceProvider = serviceProviderFactory.create(deploymentConfiguration);
@@ -94,7 +108,8 @@ public class GenerateService {
    *
    *   1. Clear out old config generated in a prior run.
    *   2. Generate configuration using the halconfig as the source of truth, while collecting files needed by
-   *      the deployment.
+   *      the deployment. Each service's profiles are generated on a bounded pool, since many of them are read
+   *      remotely, and are then staged in service order.
    *
    * @param deploymentName is the deployment whose config to generate
    * @param services is the list of services to generate configs for
@@ -122,7 +137,8 @@ public class GenerateService {
     List<String> userProfileNames = aggregateProfilesInPath(userProfilePath.toString(), "");
 
     // Step 2.
-    Map<SpinnakerService.Type, Map<String, Profile>> serviceProfiles = new HashMap<>();
+    List<SpinnakerService> generatedServices = new ArrayList<>();
+    List<Future<GeneratedProfiles>> results = new ArrayList<>();
     for (SpinnakerService service : serviceProvider.getServices()) {
       boolean isDesiredService = services
           .stream()
@@ -138,22 +154,31 @@ public class GenerateService {
         continue;
       }
 
-      List<Profile> profiles = service.getProfiles(deploymentConfiguration, runtimeSettings);
+      Callable<GeneratedProfiles> generate = () -> generateProfiles(service, deploymentConfiguration, runtimeSettings, userProfilePath, userProfileNames);
+      generatedServices.add(service);
+      if (generateParallelism > 1) {
+        results.add(getGenerateExecutor().submit(DaemonTaskHandler.withCurrentTask(generate)));
+      } else {
+        results.add(CompletableFuture.completedFuture(callUnchecked(generate)));
+      }
+    }
 
-      String pluralModifier = profiles.size() == 1 ? "" : "s";
-      String profileMessage = "Generated " + profiles.size() + " profile" + pluralModifier;
-      Map<String, Profile> outputProfiles = processProfiles(spinnakerStaging, profiles);
+    // Profiles are staged in service order once they've all been generated, so that when two services share a
+    // profile (e.g. spinnaker.yml) the same one is written no matter which service finished first.
+    Map<SpinnakerService.Type, Map<String, Profile>> serviceProfiles = new HashMap<>();
+    for (int i = 0; i < generatedServices.size(); i++) {
+      SpinnakerService service = generatedServices.get(i);
+      GeneratedProfiles generated = awaitProfiles(results, i);
 
-      List<Profile> customProfiles = userProfileNames.stream()
-          .map(s -> (Optional<Profile>) service.customProfile(deploymentConfiguration, runtimeSettings, Paths.get(userProfilePath.toString(), s), s))
-          .filter(Optional::isPresent)
-          .map(Optional::get)
-          .collect(Collectors.toList());
+      String pluralModifier = generated.profiles.size() == 1 ? "" : "s";
+      String profileMessage = "Generated " + generated.profiles.size() + " profile" + pluralModifier;
+      Map<String, Profile> outputProfiles = processProfiles(spinnakerStaging, generated.profiles);
 
-      pluralModifier = customProfiles.size() == 1 ? "" : "s";
-      profileMessage += " and discovered " + customProfiles.size() + " custom profile" + pluralModifier + " for " + service.getCanonicalName();
+      pluralModifier = generated.customProfiles.size() == 1 ? "" : "s";
+      profileMessage += " and discovered " + generated.customProfiles.size() + " custom profile" + pluralModifier + " for " + service.getCanonicalName()
+          + " in " + generated.elapsedMillis + "ms";
       DaemonTaskHandler.message(profileMessage);
-      mergeProfilesAndPreserveProperties(outputProfiles, processProfiles(spinnakerStaging, customProfiles));
+      mergeProfilesAndPreserveProperties(outputProfiles, processProfiles(spinnakerStaging, generated.customProfiles));
 
       serviceProfiles.put(service.getType(), outputProfiles);
     }
@@ -164,6 +189,75 @@ public class GenerateService {
         .setRuntimeSettings(runtimeSettings);
   }
 
+  private static class GeneratedProfiles {
+    final List<Profile> profiles;
+    final List<Profile> customProfiles;
+    final long elapsedMillis;
+
+    GeneratedProfiles(List<Profile> profiles, List<Profile> customProfiles, long elapsedMillis) {
+      this.profiles = profiles;
+      this.customProfiles = customProfiles;
+      this.elapsedMillis = elapsedMillis;
+    }
+  }
+
+  private GeneratedProfiles generateProfiles(SpinnakerService service,
+      DeploymentConfiguration deploymentConfiguration,
+      SpinnakerRuntimeSettings runtimeSettings,
+      Path userProfilePath,
+      List<String> userProfileNames) {
+    long start = System.currentTimeMillis();
+    List<Profile> profiles = service.getProfiles(deploymentConfiguration, runtimeSettings);
+
+    List<Profile> customProfiles = userProfileNames.stream()
+        .map(s -> (Optional<Profile>) service.customProfile(deploymentConfiguration, runtimeSettings, Paths.get(userProfilePath.toString(), s), s))
+        .filter(Optional::isPresent)
+        .map(Optional::get)
+        .collect(Collectors.toList());
+
+    long elapsed = System.currentTimeMillis() - start;
+    log.info("Generated profiles for " + service.getCanonicalName() + " in " + elapsed + "ms");
+    return new GeneratedProfiles(profiles, customProfiles, elapsed);
+  }
+
+  private static GeneratedProfiles awaitProfiles(List<Future<GeneratedProfiles>> results, int index) {
+    try {
+      return results.get(index).get();
+    } catch (InterruptedException e) {
+      results.forEach(r -> r.cancel(true));
+      throw new DaemonTaskInterrupted("Interrupted while generating profiles", e);
+    } catch (ExecutionException e) {
+      results.forEach(r -> r.cancel(true));
+      Throwable cause = e.getCause();
+      if (cause instanceof RuntimeException) {
+        throw (RuntimeException) cause;
+      }
+
+      throw new RuntimeException("Profile generation failed: " + cause.getMessage(), cause);
+    }
+  }
+
+  private static <T> T callUnchecked(Callable<T> callable) {
+    try {
+      return callable.call();
+    } catch (RuntimeException e) {
+      throw e;
+    } catch (Exception e) {
+      throw new RuntimeException(e);
+    }
+  }
+
+  private synchronized ExecutorService getGenerateExecutor() {
+    if (generateExecutor == null) {
+      generateExecutor = Executors.newFixedThreadPool(generateParallelism, new ThreadFactoryBuilder()
+          .setNameFormat("generate-%d")
+          .setDaemon(true)
+          .build());
+    }
+
+    return generateExecutor;
+  }
+
   private void mergeProfilesAndPreserveProperties(Map<String, Profile> existingProfiles, Map<String, Profile> newProfiles) {
     for (Map.Entry<String, Profile> entry : newProfiles.entrySet()) {
       String name = entry.getKey();
@@ -29,7 +29,9 @@ import com.netflix.spinnaker.halyard.config.model.v1.providers.consul.ConsulConf
 import com.netflix.spinnaker.halyard.config.model.v1.providers.consul.SupportsConsul;
 import com.netflix.spinnaker.halyard.config.model.v1.providers.dockerRegistry.DockerRegistryAccount;
 import com.netflix.spinnaker.halyard.config.model.v1.providers.dockerRegistry.DockerRegistryProvider;
-import com.netflix.spinnaker.halyard.config.services.v1.AccountService;
+import com.netflix.spinnaker.halyard.config.problem.v1.ConfigProblemBuilder;
+import com.netflix.spinnaker.halyard.core.error.v1.HalException;
+import com.netflix.spinnaker.halyard.core.problem.v1.Problem.Severity;
 import com.netflix.spinnaker.halyard.deploy.spinnaker.v1.SpinnakerArtifact;
 import com.netflix.spinnaker.halyard.deploy.spinnaker.v1.SpinnakerRuntimeSettings;
 import lombok.extern.slf4j.Slf4j;
@@ -46,9 +48,6 @@ public class ClouddriverBootstrapProfileFactory extends SpringProfileFactory {
 
   private final String DOCKER_REGISTRY = Provider.ProviderType.DOCKERREGISTRY.getName();
 
-  @Autowired
-  AccountService accountService;
-
   @Autowired
   ArtifactSourcesConfig artifactSourcesConfig;
 
@@ -67,16 +66,13 @@ public class ClouddriverBootstrapProfileFactory extends SpringProfileFactory {
       throw new IllegalStateException("There is no need to produce a bootstrapping clouddriver for a non-remote deployment of Spinnaker. This is a bug.");
     }
 
-    // We need to make modifications to this deployment configuration, but can't use helpful objects
-    // like the accountService on a clone. Therefore, we'll make the modifications in place and
-    // restore to the original state when the modifications are written out.
-    Providers originalProviders = deploymentConfiguration.getProviders().cloneNode(Providers.class);
-    Providers modifiedProviders = deploymentConfiguration.getProviders();
+    // Other profiles are generated from this deployment configuration at the same time, so all modifications are made
+    // to a private copy of it.
+    Providers modifiedProviders = deploymentConfiguration.getProviders().cloneWithParent(Providers.class);
 
-    String deploymentName = deploymentConfiguration.getName();
     String bootstrapAccountName = deploymentEnvironment.getAccountName();
 
-    Account bootstrapAccount = accountService.getAnyProviderAccount(deploymentName, bootstrapAccountName);
+    Account bootstrapAccount = ClouddriverProfileFactory.getAnyProviderAccount(modifiedProviders, bootstrapAccountName);
     bootstrapAccount.makeBootstrappingAccount(artifactSourcesConfig);
 
     Provider bootstrapProvider = (Provider) bootstrapAccount.getParent();
@@ -88,12 +84,17 @@ public class ClouddriverBootstrapProfileFactory extends SpringProfileFactory {
     if (bootstrapAccount instanceof ContainerAccount) {
       ContainerAccount containerAccount = (ContainerAccount) bootstrapAccount;
 
+      DockerRegistryProvider dockerProvider = modifiedProviders.getDockerRegistry();
       List<DockerRegistryAccount> bootstrapRegistries = containerAccount.getDockerRegistries()
           .stream()
-          .map(ref -> (DockerRegistryAccount) accountService.getProviderAccount(deploymentName, DOCKER_REGISTRY, ref.getAccountName()))
+          .map(ref -> dockerProvider.getAccounts()
+              .stream()
+              .filter(a -> a.getName().equals(ref.getAccountName()))
+              .findFirst()
+              .orElseThrow(() -> new HalException(new ConfigProblemBuilder(Severity.FATAL,
+                  "No " + DOCKER_REGISTRY + " account with name \"" + ref.getAccountName() + "\" was found").build())))
           .collect(Collectors.toList());
 
-      DockerRegistryProvider dockerProvider = modifiedProviders.getDockerRegistry();
       dockerProvider.setEnabled(true);
       dockerProvider.setAccounts(bootstrapRegistries);
     }
@@ -116,8 +117,6 @@ public class ClouddriverBootstrapProfileFactory extends SpringProfileFactory {
         .appendContents("services.fiat.enabled: false")
         .appendContents(profile.getBaseContents())
         .setRequiredFiles(files);
-
-    deploymentConfiguration.setProviders(originalProviders);
   }
 
   private void disableAllProviders(Providers providers) {
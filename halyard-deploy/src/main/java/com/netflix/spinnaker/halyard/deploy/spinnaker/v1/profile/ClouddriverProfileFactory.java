@@ -25,15 +25,14 @@ import com.netflix.spinnaker.halyard.config.model.v1.node.Provider;
 import com.netflix.spinnaker.halyard.config.model.v1.node.Providers;
 import com.netflix.spinnaker.halyard.config.model.v1.providers.containers.ContainerAccount;
 import com.netflix.spinnaker.halyard.config.model.v1.providers.containers.DockerRegistryReference;
-import com.netflix.spinnaker.halyard.config.model.v1.providers.dockerRegistry.DockerRegistryAccount;
-import com.netflix.spinnaker.halyard.config.model.v1.providers.dockerRegistry.DockerRegistryProvider;
-import com.netflix.spinnaker.halyard.config.services.v1.AccountService;
+import com.netflix.spinnaker.halyard.config.problem.v1.ConfigProblemBuilder;
 import com.netflix.spinnaker.halyard.deploy.spinnaker.v1.SpinnakerArtifact;
+import com.netflix.spinnaker.halyard.core.error.v1.HalException;
+import com.netflix.spinnaker.halyard.core.problem.v1.Problem.Severity;
 import com.netflix.spinnaker.halyard.deploy.spinnaker.v1.SpinnakerRuntimeSettings;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
 import java.util.HashMap;
@@ -44,9 +43,6 @@ import java.util.Set;
 @Component
 public class ClouddriverProfileFactory extends SpringProfileFactory {
 
-  @Autowired
-  AccountService accountService;
-
   @Override
   public SpinnakerArtifact getArtifact() {
     return SpinnakerArtifact.CLOUDDRIVER;
@@ -56,42 +52,36 @@ public class ClouddriverProfileFactory extends SpringProfileFactory {
   protected void setProfile(Profile profile, DeploymentConfiguration deploymentConfiguration, SpinnakerRuntimeSettings endpoints) {
     super.setProfile(profile, deploymentConfiguration, endpoints);
 
-    // We need to make modifications to this deployment configuration, but can't use helpful objects
-    // like the accountService on a clone. Therefore, we'll make the modifications in place and
-    // restore to the original state when the modifications are written out.
-    Providers originalProviders = deploymentConfiguration.getProviders().cloneNode(Providers.class);
-    Providers modifiedProviders = deploymentConfiguration.getProviders();
+    // Other profiles are generated from this deployment configuration at the same time, so all modifications are made
+    // to a private copy of it.
+    Providers modifiedProviders = deploymentConfiguration.getProviders().cloneWithParent(Providers.class);
 
     DeploymentEnvironment deploymentEnvironment = deploymentConfiguration.getDeploymentEnvironment();
     if (deploymentEnvironment.getBootstrapOnly() != null && deploymentEnvironment.getBootstrapOnly()) {
       String bootstrapAccountName = deploymentEnvironment.getAccountName();
-      removeBootstrapOnlyAccount(modifiedProviders, deploymentConfiguration.getName(), bootstrapAccountName);
+      removeBootstrapOnlyAccount(modifiedProviders, bootstrapAccountName);
     }
 
-    Artifacts artifacts = deploymentConfiguration.getArtifacts();
+    Artifacts artifacts = deploymentConfiguration.getArtifacts().cloneWithParent(Artifacts.class);
 
     List<String> files = backupRequiredFiles(modifiedProviders, deploymentConfiguration.getName());
     files.addAll(backupRequiredFiles(artifacts, deploymentConfiguration.getName()));
 
-    if (deploymentConfiguration.getProviders() != null) {
-      processProviders(deploymentConfiguration.getProviders());
-    }
+    processProviders(modifiedProviders);
 
     profile.appendContents(yamlToString(modifiedProviders))
         .appendContents(yamlToString(new ArtifactWrapper(artifacts)))
         .appendContents(profile.getBaseContents())
         .setRequiredFiles(files);
-
-    deploymentConfiguration.setProviders(originalProviders);
   }
 
   protected void processProviders(Providers providers) {
   }
 
   @SuppressWarnings("unchecked")
-  private void removeBootstrapOnlyAccount(Providers providers, String deploymentName, String bootstrapAccountName) {
+  private void removeBootstrapOnlyAccount(Providers providers, String bootstrapAccountName) {
 
-    Account bootstrapAccount = accountService.getAnyProviderAccount(deploymentName, bootstrapAccountName);
+    Account bootstrapAccount = getAnyProviderAccount(providers, bootstrapAccountName);
     Provider bootstrapProvider = ((Provider) bootstrapAccount.getParent());
 
     bootstrapProvider.getAccounts().remove(bootstrapAccount);
@@ -105,8 +95,7 @@ public class ClouddriverProfileFactory extends SpringProfileFactory {
         containerAccount.getDockerRegistries().forEach(reg -> {
           Set<Account> dependentAccounts = revIndex.get(reg.getAccountName());
           if (dependentAccounts == null || dependentAccounts.isEmpty()) {
-            DockerRegistryAccount regAcct = (DockerRegistryAccount) accountService.getAnyProviderAccount(deploymentName, reg.getAccountName());
-            ((DockerRegistryProvider) regAcct.getParent()).getAccounts().remove(regAcct);
+            providers.getDockerRegistry().getAccounts().removeIf(a -> a.getName().equals(reg.getAccountName()));
           }
         });
 
@@ -117,6 +106,24 @@ public class ClouddriverProfileFactory extends SpringProfileFactory {
     }
   }
 
+  /**
+   * Finds an account in a copy of a deployment's providers, which the accountService can't look into.
+   */
+  @SuppressWarnings("unchecked")
+  static Account getAnyProviderAccount(Providers providers, String accountName) {
+    NodeIterator providerNodes = providers.getChildren();
+    Provider provider;
+    while ((provider = (Provider) providerNodes.getNext()) != null) {
+      for (Account account : (List<? extends Account>) provider.getAccounts()) {
+        if (account.getName().equals(accountName)) {
+          return account;
+        }
+      }
+    }
+
+    throw new HalException(new ConfigProblemBuilder(Severity.FATAL, "No account with name \"" + accountName + "\" was found").build());
+  }
+
   // Registry name -> Docker/DCOS accounts that use it.
   @Slf4j
   private static class DockerRegistryAccountReverseIndex extends HashMap<String, Set<Account>> {
@@ -17,11 +17,23 @@
 
 package com.netflix.spinnaker.halyard.deploy.spinnaker.v1.service;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 import retrofit.RestAdapter;
 import retrofit.client.OkClient;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Creates clients for the services being deployed. Since services are connected to repeatedly while deploying, each
+ * client is cached by its endpoint and interface, and reused until it hasn't been used for a while.
+ */
 @Component
 public class ServiceInterfaceFactory {
   @Autowired
@@ -30,13 +42,63 @@ public class ServiceInterfaceFactory {
   @Autowired
   RestAdapter.LogLevel retrofitLogLevel;
 
+  @Value("${serviceInterfaces.cache.maxEntries:256}")
+  long maxEntries = 256;
+
+  @Value("${serviceInterfaces.cache.expireAfterAccessMs:600000}")
+  long expireAfterAccessMs = 600000;
+
+  private volatile Cache<String, Object> services;
+
+  // When each endpoint last had a request made to it, so whatever it's reached through can tell it's still in use.
+  private final Map<String, Long> lastRequests = new ConcurrentHashMap<>();
+
+  private Cache<String, Object> getServices() {
+    if (services == null) {
+      synchronized (this) {
+        if (services == null) {
+          services = CacheBuilder.newBuilder()
+              .maximumSize(maxEntries)
+              .expireAfterAccess(expireAfterAccessMs, TimeUnit.MILLISECONDS)
+              .build();
+        }
+      }
+    }
+
+    return services;
+  }
+
   public <T> T createService(String endpoint, SpinnakerService<T> service) {
     Class<T> clazz = service.getEndpointClass();
-    return new RestAdapter.Builder()
-        .setClient(okClient)
-        .setLogLevel(retrofitLogLevel)
-        .setEndpoint(endpoint)
-        .build()
-        .create(clazz);
+    try {
+      return clazz.cast(getServices().get(key(endpoint, clazz), () -> new RestAdapter.Builder()
+          .setClient(okClient)
+          .setLogLevel(retrofitLogLevel)
+          .setEndpoint(endpoint)
+          .setRequestInterceptor(r -> lastRequests.put(endpoint, System.currentTimeMillis()))
+          .build()
+          .create(clazz)));
+    } catch (ExecutionException e) {
+      throw new RuntimeException("Failed to create a client for " + endpoint + ": " + e.getCause().getMessage(), e.getCause());
+    }
+  }
+
+  /**
+   * Drops every client for an endpoint, e.g. once the tunnel it was reached through has closed.
+   */
+  public void invalidate(String endpoint) {
+    getServices().asMap().keySet().removeIf(k -> k.startsWith(endpoint + " "));
+    lastRequests.remove(endpoint);
+  }
+
+  /**
+   * @return when a client last made a request to this endpoint, or 0 if none has.
+   */
+  public long getLastRequestMillis(String endpoint) {
+    return lastRequests.getOrDefault(endpoint, 0L);
+  }
+
+  private static String key(String endpoint, Class<?> clazz) {
+    return endpoint + " " + clazz.getName();
   }
 }
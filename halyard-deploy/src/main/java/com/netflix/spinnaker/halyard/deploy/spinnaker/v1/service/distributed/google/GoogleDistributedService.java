@@ -38,6 +38,7 @@ import com.netflix.spinnaker.halyard.config.model.v1.providers.google.GoogleAcco
 import com.netflix.spinnaker.halyard.core.error.v1.HalException;
 import com.netflix.spinnaker.halyard.core.problem.v1.Problem;
 import com.netflix.spinnaker.halyard.core.tasks.v1.DaemonTaskHandler;
+import com.netflix.spinnaker.halyard.core.tasks.v1.ReadinessWaiter;
 import com.netflix.spinnaker.halyard.core.tasks.v1.DaemonTaskInterrupted;
 import com.netflix.spinnaker.halyard.deploy.deployment.v1.AccountDeploymentDetails;
 import com.netflix.spinnaker.halyard.deploy.services.v1.ArtifactService;
@@ -407,14 +408,11 @@ public interface GoogleDistributedService<T> extends DistributedService<T, Googl
       throw new HalException(FATAL, "Failed to create instance group to run artifact " + settings.getArtifactId() + ": " + e.getMessage(), e);
     }
 
-    boolean ready = false;
     DaemonTaskHandler.message("Waiting for all instances to become healthy.");
-    while (!ready) {
-      Integer runningVersion = getRunningServiceDetails(details, runtimeSettings).getLatestEnabledVersion();
-      ready = version.equals(runningVersion);
-
-      DaemonTaskHandler.safeSleep(TimeUnit.SECONDS.toMillis(2));
-    }
+    new ReadinessWaiter()
+        .setInitialIntervalMillis(TimeUnit.SECONDS.toMillis(1))
+        .setMaxIntervalMillis(TimeUnit.SECONDS.toMillis(10))
+        .await(() -> getRunningServiceDetails(details, runtimeSettings).getLatestEnabledVersion(), version::equals);
   }
 
   @Override
@@ -609,7 +607,7 @@ public interface GoogleDistributedService<T> extends DistributedService<T, Googl
     }
 
     try {
-      return GoogleProviderUtils.openSshTunnel(details, instances.get(0).getId(), settings);
+      return GoogleProviderUtils.openSshTunnel(details, instances.get(0).getId(), settings, getServiceInterfaceFactory());
     } catch (InterruptedException e) {
       throw new DaemonTaskInterrupted(e);
     }
@@ -618,7 +616,7 @@ public interface GoogleDistributedService<T> extends DistributedService<T, Googl
   @Override
   default <S> S connectToInstance(AccountDeploymentDetails<GoogleAccount> details, SpinnakerRuntimeSettings runtimeSettings, SpinnakerService<S> sidecar, String instanceId) {
     try {
-      return getServiceInterfaceFactory().createService(GoogleProviderUtils.openSshTunnel(details, instanceId, runtimeSettings.getServiceSettings(sidecar)).toString(), sidecar);
+      return getServiceInterfaceFactory().createService(GoogleProviderUtils.openSshTunnel(details, instanceId, runtimeSettings.getServiceSettings(sidecar), getServiceInterfaceFactory()).toString(), sidecar);
     } catch (InterruptedException e) {
       throw new DaemonTaskInterrupted(e);
     }
@@ -28,29 +28,25 @@ import com.netflix.spinnaker.halyard.core.job.v1.JobExecutor;
 import com.netflix.spinnaker.halyard.core.job.v1.JobRequest;
 import com.netflix.spinnaker.halyard.core.job.v1.JobStatus;
 import com.netflix.spinnaker.halyard.core.tasks.v1.DaemonTaskHandler;
+import com.netflix.spinnaker.halyard.core.tasks.v1.ReadinessWaiter;
 import com.netflix.spinnaker.halyard.core.tasks.v1.DaemonTaskInterrupted;
 import com.netflix.spinnaker.halyard.deploy.deployment.v1.AccountDeploymentDetails;
+import com.netflix.spinnaker.halyard.deploy.spinnaker.v1.service.ServiceInterfaceFactory;
 import com.netflix.spinnaker.halyard.deploy.spinnaker.v1.service.ServiceSettings;
-import lombok.Data;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.io.FileUtils;
 import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang.StringUtils;
-import org.apache.http.client.utils.URIBuilder;
-import org.springframework.util.SocketUtils;
 
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
-import java.net.Socket;
 import java.net.URI;
-import java.net.URISyntaxException;
 import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
@@ -59,8 +55,6 @@ import static com.netflix.spinnaker.halyard.core.problem.v1.Problem.Severity.FAT
 
 @Slf4j
 class GoogleProviderUtils {
-  // Map from service -> the port & job managing the connection.
-  private static ConcurrentHashMap<String, Proxy> proxyMap = new ConcurrentHashMap<>();
   static String getNetworkName() {
     return "spinnaker-hal";
   }
@@ -72,9 +66,6 @@ class GoogleProviderUtils {
     return getSshKeyFile() + ".pub";
   }
 
-  private static int connectRetries = 5;
-  private static int openSshRetries = 10;
-
   static String defaultServiceAccount(AccountDeploymentDetails<GoogleAccount> details) {
     GoogleAccount account = details.getAccount();
     String project = account.getProject();
@@ -161,127 +152,24 @@ class GoogleProviderUtils {
     }
   }
 
-  static private Proxy openSshTunnel(String ip, int port, String keyFile) throws InterruptedException {
-    JobExecutor jobExecutor = DaemonTaskHandler.getJobExecutor();
-    List<String> command = new ArrayList<>();
-
-    // Make sure we don't have an entry for this host already (GCP recycles IPs).
-    command.add("ssh-keygen");
-    command.add("-R");
-    command.add(ip);
-    JobRequest request = new JobRequest().setTokenizedCommand(command);
-    JobStatus status = jobExecutor.backoffWait(jobExecutor.startJob(request));
-
-    if (status.getResult() != JobStatus.Result.SUCCESS) {
-      if (status.getStdErr().contains("No such file")) {
-        log.info("No ssh known_hosts file exists yet");
-      } else {
-        throw new HalException(FATAL, "Unable to remove old host entry " + status.getStdErr());
-      }
-    }
-
-    int localPort = SocketUtils.findAvailableTcpPort();
-
-    command.clear();
-    command.add("ssh");
-    command.add("ubuntu@" + ip);
-    command.add("-o");
-    command.add("StrictHostKeyChecking=no");
-    command.add("-i");
-    command.add(keyFile);
-    command.add("-N");
-    command.add("-L");
-    command.add(String.format("%d:localhost:%d", localPort, port));
-    request = new JobRequest().setTokenizedCommand(command);
-
-    String jobId = jobExecutor.startJob(request);
-
-    status = jobExecutor.updateJob(jobId);
-
-    while (status == null) {
-      DaemonTaskHandler.safeSleep(TimeUnit.SECONDS.toMillis(1));
-      status = jobExecutor.updateJob(jobId);
-    }
-
-    return new Proxy().setJobId(jobId).setPort(localPort);
-  }
-
-  static private void closeSshTunnel(Proxy proxy) {
-    JobExecutor jobExecutor = DaemonTaskHandler.getJobExecutor();
-    jobExecutor.cancelJob(proxy.getJobId());
-  }
-
-  static private boolean checkIfProxyIsOpen(Proxy proxy) {
-    boolean connected = false;
-    int tries = 0;
-    int port = proxy.getPort();
-
-    while (!connected && tries < connectRetries) {
-      tries++;
-
-      try {
-        log.info("Attempting to connect to localhost:" + port + "...");
-        Socket testSocket = new Socket("localhost", port);
-        log.info("Connection opened");
-
-        connected = testSocket.isConnected();
-        testSocket.close();
-      } catch (IOException e) {
-        DaemonTaskHandler.safeSleep(TimeUnit.SECONDS.toMillis(5));
-      }
-    }
-
-    return connected;
-  }
-
-  static URI openSshTunnel(AccountDeploymentDetails<GoogleAccount> details, String instanceName, ServiceSettings service) throws InterruptedException {
+  /**
+   * Tunnels are pooled, so this only connects to the instance when no open tunnel to it exists yet.
+   *
+   * @param serviceInterfaceFactory has any clients for a tunnel that has since closed dropped.
+   */
+  static URI openSshTunnel(AccountDeploymentDetails<GoogleAccount> details,
+      String instanceName,
+      ServiceSettings service,
+      ServiceInterfaceFactory serviceInterfaceFactory) throws InterruptedException {
     int port = service.getPort();
-    String key = Proxy.buildKey(details.getDeploymentName(), instanceName, port);
-
-    Proxy proxy = proxyMap.getOrDefault(key, new Proxy());
-    JobExecutor jobExecutor = DaemonTaskHandler.getJobExecutor();
-
-    if (proxy.getJobId() == null || !jobExecutor.jobExists(proxy.getJobId())) {
-      String ip = getInstanceIp(details, instanceName);
-      String keyFile = getSshKeyFile();
-      log.info("Opening port " + port + " against instance " + instanceName);
-      boolean connected = false;
-      int tries = 0;
-
-      while (!connected && tries < openSshRetries) {
-        tries++;
-        proxy = openSshTunnel(ip, port, keyFile);
-        connected = checkIfProxyIsOpen(proxy);
-
-        if (!connected) {
-          if (!jobExecutor.jobExists(proxy.jobId)
-              || jobExecutor.updateJob(proxy.jobId).getState() == JobStatus.State.COMPLETED) {
-            log.warn("SSH tunnel closed prematurely");
-          }
-
-          log.info("SSH tunnel never opened, retrying in case the instance hasn't started yet... (" + tries + "/" + openSshRetries + ")");
-          closeSshTunnel(proxy);
-          DaemonTaskHandler.safeSleep(TimeUnit.SECONDS.toMillis(10));
-        }
-      }
-
-      if (!connected) {
-        JobStatus status = jobExecutor.updateJob(proxy.getJobId());
-        throw new HalException(FATAL, "Unable to connect to instance " + instanceName + ": " + status.getStdErr());
-      }
-
-      proxyMap.put(key, proxy);
-    }
-
-    try {
-      return new URIBuilder()
-          .setScheme("http")
-          .setHost("localhost")
-          .setPort(proxy.getPort())
-          .build();
-    } catch (URISyntaxException e) {
-      throw new RuntimeException("Failed to build URI for SSH connection", e);
-    }
+    String key = String.format("%s:%s:%d", details.getDeploymentName(), instanceName, port);
+
+    return GoogleSshTunnelPool.acquire(key,
+        () -> getInstanceIp(details, instanceName),
+        port,
+        getSshKeyFile(),
+        uri -> serviceInterfaceFactory.invalidate(uri.toString()),
+        uri -> serviceInterfaceFactory.getLastRequestMillis(uri.toString()));
   }
 
   static void waitOnZoneOperation(Compute compute, String project, String zone, Operation operation) throws IOException {
@@ -305,16 +193,16 @@ class GoogleProviderUtils {
   }
 
   private static void waitOnOperation(Supplier<Operation> operationSupplier) {
-    Operation operation = operationSupplier.get();
-    while (!operation.getStatus().equals("DONE")) {
-      if (operation.getError() != null) {
-        throw new HalException(FATAL, String.join("\n", operation.getError()
-            .getErrors()
-            .stream()
-            .map(e -> e.getCode() + ": " + e.getMessage()).collect(Collectors.toList())));
-      }
-      operation = operationSupplier.get();
-      DaemonTaskHandler.safeSleep(TimeUnit.SECONDS.toMillis(1));
+    Operation operation = new ReadinessWaiter()
+        .setInitialIntervalMillis(250)
+        .setMaxIntervalMillis(TimeUnit.SECONDS.toMillis(5))
+        .await(operationSupplier, o -> o.getStatus().equals("DONE") || o.getError() != null);
+
+    if (!operation.getStatus().equals("DONE")) {
+      throw new HalException(FATAL, String.join("\n", operation.getError()
+          .getErrors()
+          .stream()
+          .map(e -> e.getCode() + ": " + e.getMessage()).collect(Collectors.toList())));
     }
   }
 
@@ -436,14 +324,4 @@ class GoogleProviderUtils {
         .findFirst()
         .orElseThrow(() -> new HalException(FATAL, "No public IP associated with" + instanceName));
   }
-
-  @Data
-  static class Proxy {
-    String jobId = "";
-    Integer port;
-
-    static String buildKey(String deployment, String instance, int port) {
-      return String.format("%d:%s:%s:%d", Thread.currentThread().getId(), deployment, instance, port);
-    }
-  }
 }
@@ -0,0 +1,374 @@
+/*
+ * Copyright 2018 Google, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License")
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.netflix.spinnaker.halyard.deploy.spinnaker.v1.service.distributed.google;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.netflix.spinnaker.halyard.core.error.v1.HalException;
+import com.netflix.spinnaker.halyard.core.job.v1.JobExecutor;
+import com.netflix.spinnaker.halyard.core.job.v1.JobExecutorLocal;
+import com.netflix.spinnaker.halyard.core.job.v1.JobRequest;
+import com.netflix.spinnaker.halyard.core.job.v1.JobStatus;
+import com.netflix.spinnaker.halyard.core.tasks.v1.DaemonTaskHandler;
+import com.netflix.spinnaker.halyard.core.tasks.v1.ReadinessWaiter;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.http.client.utils.URIBuilder;
+import org.springframework.util.SocketUtils;
+
+import java.io.IOException;
+import java.net.Socket;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
+
+import static com.netflix.spinnaker.halyard.core.problem.v1.Problem.Severity.FATAL;
+
+/**
+ * The SSH tunnels halyard has open into instances of a Google deployment, shared by every task that connects to them.
+ *
+ * All tunnels into an instance are multiplexed over a single SSH connection (ControlMaster), so only the first one
+ * pays for the SSH handshake. Tunnels are run by the pool rather than the task that opened them, so they outlive it,
+ * and are checked in the background: broken tunnels are closed so that the next task to need one reopens it right
+ * away, and tunnels that haven't been acquired or had a request sent through them in a while are reclaimed. The shared
+ * connections belong to no job, so they're closed explicitly when the daemon shuts down.
+ */
+@Slf4j
+class GoogleSshTunnelPool {
+  private static final JobExecutor jobExecutor = new JobExecutorLocal();
+  private static final Map<String, Tunnel> tunnels = new ConcurrentHashMap<>();
+  private static final Map<String, Object> locks = new ConcurrentHashMap<>();
+  // Every instance a shared connection was opened to.
+  private static final Set<String> masters = ConcurrentHashMap.newKeySet();
+
+  private static final AtomicLong opened = new AtomicLong();
+  private static final AtomicLong reused = new AtomicLong();
+  private static final AtomicLong broken = new AtomicLong();
+  private static final AtomicLong reclaimed = new AtomicLong();
+
+  private static long idleMillis = TimeUnit.MINUTES.toMillis(10);
+  private static long healthCheckMillis = TimeUnit.SECONDS.toMillis(30);
+  private static long connectTimeoutMillis = TimeUnit.SECONDS.toMillis(25);
+  private static int openRetries = 10;
+
+  private static ScheduledExecutorService maintainer;
+
+  private static class Tunnel {
+    final String ip;
+    final int localPort;
+    final int remotePort;
+    final String jobId;
+    final Consumer<URI> onClose;
+    final ToLongFunction<URI> lastRequest;
+    volatile long lastUsed = System.currentTimeMillis();
+
+    Tunnel(String ip, int localPort, int remotePort, String jobId, Consumer<URI> onClose, ToLongFunction<URI> lastRequest) {
+      this.ip = ip;
+      this.localPort = localPort;
+      this.remotePort = remotePort;
+      this.jobId = jobId;
+      this.onClose = onClose;
+      this.lastRequest = lastRequest;
+    }
+
+    long lastActive() {
+      return Math.max(lastUsed, lastRequest.applyAsLong(uri(this)));
+    }
+  }
+
+  /**
+   * @param idleMillis is how long a tunnel may go unused before it's closed.
+   * @param healthCheckMillis is how often tunnels are checked.
+   */
+  static void configure(long idleMillis, long healthCheckMillis) {
+    GoogleSshTunnelPool.idleMillis = idleMillis;
+    GoogleSshTunnelPool.healthCheckMillis = healthCheckMillis;
+  }
+
+  static int getOpenTunnels() {
+    return tunnels.size();
+  }
+
+  static long getOpened() {
+    return opened.get();
+  }
+
+  static long getReused() {
+    return reused.get();
+  }
+
+  static long getBroken() {
+    return broken.get();
+  }
+
+  static long getReclaimed() {
+    return reclaimed.get();
+  }
+
+  /**
+   * Returns an open tunnel to a port on an instance, opening one if there isn't one already.
+   *
+   * @param key identifies the instance and port being tunneled to.
+   * @param ip looks up the instance's address, if a tunnel needs to be opened.
+   * @param remotePort is the port on the instance.
+   * @param keyFile is the ssh key to connect with.
+   * @param onClose is told the tunnel's local endpoint once it's closed.
+   * @param lastRequest reports when a request was last sent to the tunnel's local endpoint, so that a tunnel clients are
+   *                    still using isn't reclaimed.
+   * @return the local endpoint of the tunnel.
+   */
+  static URI acquire(String key,
+      Supplier<String> ip,
+      int remotePort,
+      String keyFile,
+      Consumer<URI> onClose,
+      ToLongFunction<URI> lastRequest) throws InterruptedException {
+    Tunnel tunnel = tunnels.get(key);
+    if (tunnel != null && isHealthy(tunnel)) {
+      return reuse(tunnel);
+    }
+
+    synchronized (locks.computeIfAbsent(key, k -> new Object())) {
+      tunnel = tunnels.get(key);
+      if (tunnel != null) {
+        if (isHealthy(tunnel)) {
+          return reuse(tunnel);
+        }
+
+        log.info("SSH tunnel to " + tunnel.ip + ":" + tunnel.remotePort + " is no longer open");
+        broken.incrementAndGet();
+        close(key, tunnel);
+      }
+
+      tunnel = open(ip.get(), remotePort, keyFile, onClose, lastRequest);
+      tunnels.put(key, tunnel);
+      opened.incrementAndGet();
+      ensureMaintainer();
+      return uri(tunnel);
+    }
+  }
+
+  private static URI reuse(Tunnel tunnel) {
+    tunnel.lastUsed = System.currentTimeMillis();
+    reused.incrementAndGet();
+    return uri(tunnel);
+  }
+
+  private static Tunnel open(String ip,
+      int remotePort,
+      String keyFile,
+      Consumer<URI> onClose,
+      ToLongFunction<URI> lastRequest) throws InterruptedException {
+    // Make sure we don't have an entry for this host already (GCP recycles IPs).
+    List<String> command = new ArrayList<>();
+    command.add("ssh-keygen");
+    command.add("-R");
+    command.add(ip);
+    JobStatus status = jobExecutor.backoffWait(jobExecutor.startJob(new JobRequest().setTokenizedCommand(command)));
+
+    if (status.getResult() != JobStatus.Result.SUCCESS) {
+      if (status.getStdErr().contains("No such file")) {
+        log.info("No ssh known_hosts file exists yet");
+      } else {
+        throw new HalException(FATAL, "Unable to remove old host entry " + status.getStdErr());
+      }
+    }
+
+    log.info("Opening port " + remotePort + " against " + ip);
+    String stdErr = "";
+    for (int tries = 1; tries <= openRetries; tries++) {
+      int localPort = SocketUtils.findAvailableTcpPort();
+      String jobId = jobExecutor.startJob(new JobRequest().setTokenizedCommand(sshCommand(ip, keyFile,
+          "-N",
+          "-o", "ExitOnForwardFailure=yes",
+          "-L", forward(localPort, remotePort))));
+
+      masters.add(ip);
+      Tunnel tunnel = new Tunnel(ip, localPort, remotePort, jobId, onClose, lastRequest);
+      long deadline = System.currentTimeMillis() + connectTimeoutMillis;
+      boolean connected = new ReadinessWaiter()
+          .setInitialIntervalMillis(250)
+          .setMaxIntervalMillis(TimeUnit.SECONDS.toMillis(2))
+          .await(() -> isListening(localPort),
+              c -> c || !isRunning(jobId) || System.currentTimeMillis() > deadline);
+
+      if (connected) {
+        return tunnel;
+      }
+
+      JobStatus jobStatus = jobExecutor.updateJob(jobId);
+      stdErr = jobStatus != null ? jobStatus.getStdErr() : "";
+      log.info("SSH tunnel never opened, retrying in case the instance hasn't started yet... (" + tries + "/" + openRetries + ")");
+      cancel(tunnel);
+      DaemonTaskHandler.safeSleep(TimeUnit.SECONDS.toMillis(10));
+    }
+
+    throw new HalException(FATAL, "Unable to connect to " + ip + ": " + stdErr);
+  }
+
+  private static void close(String key, Tunnel tunnel) {
+    if (tunnels.remove(key, tunnel)) {
+      cancel(tunnel);
+      tunnel.onClose.accept(uri(tunnel));
+    }
+  }
+
+  private static void cancel(Tunnel tunnel) {
+    // The forward lives in the shared connection, which outlives the job that requested it.
+    try {
+      jobExecutor.backoffWait(jobExecutor.startJob(new JobRequest().setTokenizedCommand(sshCommand(tunnel.ip, null,
+          "-O", "cancel",
+          "-L", forward(tunnel.localPort, tunnel.remotePort)))));
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    } catch (RuntimeException e) {
+      log.warn("Failed to cancel port forward to " + tunnel.ip + ":" + tunnel.remotePort, e);
+    }
+
+    jobExecutor.cancelJob(tunnel.jobId);
+  }
+
+  /**
+   * Closes every tunnel, and the shared connections they ran over, which would otherwise outlive the daemon.
+   */
+  static void shutdown() {
+    synchronized (GoogleSshTunnelPool.class) {
+      if (maintainer != null) {
+        maintainer.shutdownNow();
+        maintainer = null;
+      }
+    }
+
+    tunnels.forEach(GoogleSshTunnelPool::close);
+
+    for (String ip : masters) {
+      try {
+        jobExecutor.backoffWait(jobExecutor.startJob(new JobRequest().setTokenizedCommand(sshCommand(ip, null, "-O", "exit"))));
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return;
+      } catch (RuntimeException e) {
+        log.warn("Failed to close the SSH connection to " + ip, e);
+      }
+    }
+
+    masters.clear();
+  }
+
+  private static List<String> sshCommand(String ip, String keyFile, String... args) {
+    List<String> command = new ArrayList<>();
+    command.add("ssh");
+    command.add("ubuntu@" + ip);
+    command.add("-o");
+    command.add("StrictHostKeyChecking=no");
+    command.add("-o");
+    command.add("ControlMaster=auto");
+    command.add("-o");
+    command.add("ControlPath=" + Paths.get(System.getProperty("java.io.tmpdir"), "halyard-ssh-%C"));
+    command.add("-o");
+    command.add("ControlPersist=" + TimeUnit.MILLISECONDS.toSeconds(idleMillis));
+    command.add("-o");
+    command.add("ServerAliveInterval=15");
+    if (keyFile != null) {
+      command.add("-i");
+      command.add(keyFile);
+    }
+
+    for (String arg : args) {
+      command.add(arg);
+    }
+
+    return command;
+  }
+
+  private static String forward(int localPort, int remotePort) {
+    return String.format("%d:localhost:%d", localPort, remotePort);
+  }
+
+  private static boolean isHealthy(Tunnel tunnel) {
+    return isRunning(tunnel.jobId) && isListening(tunnel.localPort);
+  }
+
+  private static boolean isRunning(String jobId) {
+    if (!jobExecutor.jobExists(jobId)) {
+      return false;
+    }
+
+    JobStatus status = jobExecutor.updateJob(jobId);
+    return status == null || status.getState() != JobStatus.State.COMPLETED;
+  }
+
+  private static boolean isListening(int port) {
+    try (Socket socket = new Socket("localhost", port)) {
+      return socket.isConnected();
+    } catch (IOException e) {
+      return false;
+    }
+  }
+
+  private static URI uri(Tunnel tunnel) {
+    try {
+      return new URIBuilder()
+          .setScheme("http")
+          .setHost("localhost")
+          .setPort(tunnel.localPort)
+          .build();
+    } catch (URISyntaxException e) {
+      throw new RuntimeException("Failed to build URI for SSH connection", e);
+    }
+  }
+
+  private static synchronized void ensureMaintainer() {
+    if (maintainer == null) {
+      maintainer = Executors.newSingleThreadScheduledExecutor(new ThreadFactoryBuilder()
+          .setNameFormat("ssh-tunnel-pool-%d")
+          .setDaemon(true)
+          .build());
+      maintainer.scheduleWithFixedDelay(GoogleSshTunnelPool::maintain, healthCheckMillis, healthCheckMillis, TimeUnit.MILLISECONDS);
+    }
+  }
+
+  private static void maintain() {
+    long now = System.currentTimeMillis();
+    tunnels.forEach((key, tunnel) -> {
+      try {
+        if (now - tunnel.lastActive() > idleMillis) {
+          log.info("Closing idle SSH tunnel to " + tunnel.ip + ":" + tunnel.remotePort);
+          reclaimed.incrementAndGet();
+          close(key, tunnel);
+        } else if (!isHealthy(tunnel)) {
+          log.info("Closing broken SSH tunnel to " + tunnel.ip + ":" + tunnel.remotePort);
+          broken.incrementAndGet();
+          close(key, tunnel);
+        }
+      } catch (Exception e) {
+        log.warn("Failed to check SSH tunnel to " + tunnel.ip + ":" + tunnel.remotePort, e);
+      }
+    });
+  }
+}
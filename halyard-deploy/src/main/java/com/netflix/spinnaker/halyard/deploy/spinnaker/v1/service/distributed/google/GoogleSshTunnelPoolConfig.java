@@ -0,0 +1,60 @@
+/*
+ * Copyright 2018 Google, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License")
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.netflix.spinnaker.halyard.deploy.spinnaker.v1.service.distributed.google;
+
+import com.netflix.spectator.api.Registry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
+/**
+ * Sizes how long SSH tunnels into Google deployments are kept, reports how they're being used, and closes them when the
+ * daemon shuts down.
+ */
+@Configuration
+public class GoogleSshTunnelPoolConfig {
+  @Value("${deploy.google.sshTunnels.idleMs:600000}")
+  long idleMs;
+
+  @Value("${deploy.google.sshTunnels.healthCheckMs:30000}")
+  long healthCheckMs;
+
+  @Autowired(required = false)
+  Registry registry;
+
+  @PostConstruct
+  void configureTunnelPool() {
+    GoogleSshTunnelPool.configure(idleMs, healthCheckMs);
+
+    if (registry != null) {
+      registry.gauge(registry.createId("halyard.sshTunnels.open"), this, c -> GoogleSshTunnelPool.getOpenTunnels());
+      registry.gauge(registry.createId("halyard.sshTunnels.opened"), this, c -> GoogleSshTunnelPool.getOpened());
+      registry.gauge(registry.createId("halyard.sshTunnels.reused"), this, c -> GoogleSshTunnelPool.getReused());
+      registry.gauge(registry.createId("halyard.sshTunnels.broken"), this, c -> GoogleSshTunnelPool.getBroken());
+      registry.gauge(registry.createId("halyard.sshTunnels.reclaimed"), this, c -> GoogleSshTunnelPool.getReclaimed());
+    }
+  }
+
+  @PreDestroy
+  void closeTunnels() {
+    GoogleSshTunnelPool.shutdown();
+  }
+}
@@ -0,0 +1,143 @@
+/*
+ * Copyright 2018 Google, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License")
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ *
+ */
+
+package com.netflix.spinnaker.halyard.deploy.spinnaker.v1.service.distributed.kubernetes;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.netflix.spinnaker.clouddriver.kubernetes.v1.security.KubernetesConfigParser;
+import com.netflix.spinnaker.halyard.config.memoize.v1.RemoteProbeCache;
+import com.netflix.spinnaker.halyard.config.model.v1.providers.kubernetes.KubernetesAccount;
+import io.fabric8.kubernetes.client.Config;
+import io.fabric8.kubernetes.client.DefaultKubernetesClient;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.File;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps one KubernetesClient (and so one connection pool and TLS context) per account, rather than building a new one
+ * for every call to the API server.
+ *
+ * Clients are keyed by account name, and replaced when a fingerprint of the account's connection settings and
+ * kubeconfig file (its modification time and size) changes, so an edited kubeconfig or account is picked up on the
+ * next call. A replaced client may still be in use by a call another task started with it, so it's closed after a
+ * grace period rather than straight away.
+ */
+@Slf4j
+public class KubernetesClientCache {
+  private static final Map<String, CachedClient> clients = new ConcurrentHashMap<>();
+  // Replaced clients that haven't been closed yet.
+  private static final Set<KubernetesClient> replaced = ConcurrentHashMap.newKeySet();
+  private static final long REPLACED_CLIENT_GRACE_MINUTES = 5;
+  private static final ScheduledExecutorService closer = Executors.newSingleThreadScheduledExecutor(new ThreadFactoryBuilder()
+      .setNameFormat("kubernetes-client-closer-%d")
+      .setDaemon(true)
+      .build());
+
+  private static class CachedClient {
+    final String fingerprint;
+    final KubernetesClient client;
+
+    CachedClient(String fingerprint, KubernetesClient client) {
+      this.fingerprint = fingerprint;
+      this.client = client;
+    }
+  }
+
+  public static KubernetesClient getClient(KubernetesAccount account) {
+    String fingerprint = fingerprint(account);
+    CachedClient cached = clients.compute(account.getName(), (name, existing) -> {
+      if (existing != null && existing.fingerprint.equals(fingerprint)) {
+        return existing;
+      }
+
+      if (existing != null) {
+        log.info("Connection settings for account " + name + " have changed, replacing its kubernetes client");
+        closeLater(existing.client);
+      }
+
+      Config config = KubernetesConfigParser.parse(account.getKubeconfigFile(),
+          account.getContext(),
+          account.getCluster(),
+          account.getUser(),
+          account.getNamespaces(),
+          account.usesServiceAccount());
+
+      return new CachedClient(fingerprint, new DefaultKubernetesClient(config));
+    });
+
+    return cached.client;
+  }
+
+  /**
+   * Closes every cached client, e.g. when the daemon is shutting down.
+   */
+  public static void closeAll() {
+    clients.keySet().forEach(name -> {
+      CachedClient cached = clients.remove(name);
+      if (cached != null) {
+        cached.client.close();
+      }
+    });
+
+    replaced.forEach(KubernetesClientCache::close);
+  }
+
+  private static void closeLater(KubernetesClient client) {
+    replaced.add(client);
+    closer.schedule(() -> close(client), REPLACED_CLIENT_GRACE_MINUTES, TimeUnit.MINUTES);
+  }
+
+  private static void close(KubernetesClient client) {
+    // Only the first of the scheduled close and closeAll() closes the client.
+    if (replaced.remove(client)) {
+      try {
+        client.close();
+      } catch (Exception e) {
+        log.warn("Failed to close replaced kubernetes client", e);
+      }
+    }
+  }
+
+  private static String fingerprint(KubernetesAccount account) {
+    // This is called on every poll of the cluster, so the kubeconfig is identified by its metadata rather than read.
+    String kubeconfigFile = account.getKubeconfigFile();
+    long lastModified = 0;
+    long size = 0;
+    if (kubeconfigFile != null) {
+      File file = new File(kubeconfigFile);
+      lastModified = file.lastModified();
+      size = file.length();
+    }
+
+    return RemoteProbeCache.fingerprint(kubeconfigFile,
+        lastModified,
+        size,
+        account.getContext(),
+        account.getCluster(),
+        account.getUser(),
+        account.getNamespaces(),
+        account.usesServiceAccount());
+  }
+}
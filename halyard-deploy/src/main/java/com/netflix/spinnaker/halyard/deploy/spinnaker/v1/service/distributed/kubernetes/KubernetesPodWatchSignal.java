@@ -0,0 +1,64 @@
+/*
+ * Copyright 2018 Google, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License")
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ *
+ */
+
+package com.netflix.spinnaker.halyard.deploy.spinnaker.v1.service.distributed.kubernetes;
+
+import com.netflix.spinnaker.halyard.core.tasks.v1.ReadinessWaiter;
+import io.fabric8.kubernetes.api.model.Pod;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.kubernetes.client.KubernetesClientException;
+import io.fabric8.kubernetes.client.Watch;
+import io.fabric8.kubernetes.client.Watcher;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Fires whenever a pod carrying the given label is added, changed, or removed. If the watch can't be opened, or the
+ * API server closes it, the waiter using this falls back to polling.
+ */
+@Slf4j
+public class KubernetesPodWatchSignal extends ReadinessWaiter.Latch implements Watcher<Pod> {
+  private Watch watch;
+
+  public KubernetesPodWatchSignal(KubernetesClient client, String namespace, String label) {
+    try {
+      watch = client.pods().inNamespace(namespace).withLabel(label).watch(this);
+    } catch (KubernetesClientException e) {
+      log.warn("Unable to watch pods labeled " + label + " in " + namespace + ", falling back to polling", e);
+    }
+  }
+
+  @Override
+  public void eventReceived(Action action, Pod pod) {
+    fire();
+  }
+
+  @Override
+  public void onClose(KubernetesClientException cause) {
+    if (cause != null) {
+      log.info("Pod watch closed, falling back to polling", cause);
+    }
+  }
+
+  @Override
+  public void close() {
+    if (watch != null) {
+      watch.close();
+      watch = null;
+    }
+  }
+}
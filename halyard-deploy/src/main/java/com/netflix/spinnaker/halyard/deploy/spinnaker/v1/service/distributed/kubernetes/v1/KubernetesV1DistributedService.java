@@ -50,6 +50,7 @@ import com.netflix.spinnaker.halyard.core.job.v1.JobStatus;
 import com.netflix.spinnaker.halyard.core.problem.v1.Problem;
 import com.netflix.spinnaker.halyard.core.registry.v1.Versions;
 import com.netflix.spinnaker.halyard.core.tasks.v1.DaemonTaskHandler;
+import com.netflix.spinnaker.halyard.core.tasks.v1.ReadinessWaiter;
 import com.netflix.spinnaker.halyard.deploy.deployment.v1.AccountDeploymentDetails;
 import com.netflix.spinnaker.halyard.deploy.services.v1.ArtifactService;
 import com.netflix.spinnaker.halyard.deploy.services.v1.GenerateService;
@@ -66,6 +67,7 @@ import com.netflix.spinnaker.halyard.deploy.spinnaker.v1.service.SpinnakerMonito
 import com.netflix.spinnaker.halyard.deploy.spinnaker.v1.service.SpinnakerService;
 import com.netflix.spinnaker.halyard.deploy.spinnaker.v1.service.distributed.DistributedService;
 import com.netflix.spinnaker.halyard.deploy.spinnaker.v1.service.distributed.SidecarService;
+import com.netflix.spinnaker.halyard.deploy.spinnaker.v1.service.distributed.kubernetes.KubernetesPodWatchSignal;
 import io.fabric8.kubernetes.api.model.Container;
 import io.fabric8.kubernetes.api.model.ContainerStatus;
 import io.fabric8.kubernetes.api.model.LocalObjectReference;
@@ -605,11 +607,8 @@ public interface KubernetesV1DistributedService<T> extends DistributedService<T,
       if (recreate) {
         client.extensions().replicaSets().inNamespace(namespace).withName(replicaSetName).delete();
 
-        RunningServiceDetails runningServiceDetails = getRunningServiceDetails(details, runtimeSettings);
-        while (runningServiceDetails.getLatestEnabledVersion() != null) {
-          DaemonTaskHandler.safeSleep(TimeUnit.SECONDS.toMillis(5));
-          runningServiceDetails = getRunningServiceDetails(details, runtimeSettings);
-        }
+        podReadinessWaiter(client, namespace).await(() -> getRunningServiceDetails(details, runtimeSettings),
+            r -> r.getLatestEnabledVersion() == null);
       } else {
         create = false;
       }
@@ -619,13 +618,20 @@ public interface KubernetesV1DistributedService<T> extends DistributedService<T,
       client.extensions().replicaSets().inNamespace(namespace).create(replicaSetBuilder.build());
     }
 
-    RunningServiceDetails runningServiceDetails = getRunningServiceDetails(details, runtimeSettings);
-    Integer version = runningServiceDetails.getLatestEnabledVersion();
-    while (version == null || runningServiceDetails.getInstances().get(version).stream().anyMatch(i -> !(i.isHealthy() && i.isRunning()))) {
-      DaemonTaskHandler.safeSleep(TimeUnit.SECONDS.toMillis(5));
-      runningServiceDetails = getRunningServiceDetails(details, runtimeSettings);
-      version = runningServiceDetails.getLatestEnabledVersion();
-    }
+    podReadinessWaiter(client, namespace).await(() -> getRunningServiceDetails(details, runtimeSettings), r -> {
+      Integer version = r.getLatestEnabledVersion();
+      return version != null && r.getInstances().get(version).stream().allMatch(i -> i.isHealthy() && i.isRunning());
+    });
+  }
+
+  /**
+   * Waits on changes to this service's pods, re-checking at least every 10 seconds in case the watch misses one.
+   */
+  default ReadinessWaiter podReadinessWaiter(KubernetesClient client, String namespace) {
+    return new ReadinessWaiter()
+        .setInitialIntervalMillis(TimeUnit.SECONDS.toMillis(1))
+        .setMaxIntervalMillis(TimeUnit.SECONDS.toMillis(10))
+        .setSignal(new KubernetesPodWatchSignal(client, namespace, "load-balancer-" + getServiceName()));
   }
 
   @Override
@@ -18,9 +18,9 @@
 
 package com.netflix.spinnaker.halyard.deploy.spinnaker.v1.service.distributed.kubernetes.v1;
 
-import com.netflix.spinnaker.clouddriver.kubernetes.v1.security.KubernetesConfigParser;
 import com.netflix.spinnaker.halyard.config.model.v1.providers.kubernetes.KubernetesAccount;
 import com.netflix.spinnaker.halyard.core.error.v1.HalException;
+import com.netflix.spinnaker.halyard.core.job.v1.BoundedOutputStream;
 import com.netflix.spinnaker.halyard.core.job.v1.JobExecutor;
 import com.netflix.spinnaker.halyard.core.job.v1.JobRequest;
 import com.netflix.spinnaker.halyard.core.job.v1.JobStatus;
@@ -28,10 +28,9 @@ import com.netflix.spinnaker.halyard.core.problem.v1.Problem.Severity;
 import com.netflix.spinnaker.halyard.core.tasks.v1.DaemonTaskHandler;
 import com.netflix.spinnaker.halyard.core.tasks.v1.DaemonTaskInterrupted;
 import com.netflix.spinnaker.halyard.deploy.deployment.v1.AccountDeploymentDetails;
+import com.netflix.spinnaker.halyard.deploy.spinnaker.v1.service.distributed.kubernetes.KubernetesClientCache;
 import io.fabric8.kubernetes.api.model.NamespaceBuilder;
 import io.fabric8.kubernetes.api.model.SecretBuilder;
-import io.fabric8.kubernetes.client.Config;
-import io.fabric8.kubernetes.client.DefaultKubernetesClient;
 import io.fabric8.kubernetes.client.KubernetesClient;
 import lombok.Data;
 import org.apache.commons.io.IOUtils;
@@ -39,6 +38,7 @@ import org.apache.commons.lang.StringUtils;
 import org.apache.commons.lang3.tuple.Pair;
 import org.apache.http.client.utils.URIBuilder;
 
+import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileOutputStream;
@@ -124,15 +124,7 @@ class KubernetesV1ProviderUtils {
   }
 
   static KubernetesClient getClient(AccountDeploymentDetails<KubernetesAccount> details) {
-    KubernetesAccount account = details.getAccount();
-    Config config = KubernetesConfigParser.parse(account.getKubeconfigFile(),
-        account.getContext(),
-        account.getCluster(),
-        account.getUser(),
-        account.getNamespaces(),
-        account.usesServiceAccount());
-
-    return new DefaultKubernetesClient(config);
+    return KubernetesClientCache.getClient(details.getAccount());
   }
 
   static void resize(AccountDeploymentDetails<KubernetesAccount> details, String namespace, String replicaSetName, int targetSize) {
@@ -242,17 +234,27 @@ class KubernetesV1ProviderUtils {
 
     JobRequest request = new JobRequest().setTokenizedCommand(command);
 
-    JobStatus status;
+    // Logs can be large, so they're written straight to their file rather than held in memory.
+    File logFile = new File(outputFile, containerName);
+    BoundedOutputStream stdOut = new BoundedOutputStream(logFile.toPath());
     try {
-      status = jobExecutor.backoffWait(jobExecutor.startJob(request));
+      jobExecutor.backoffWait(jobExecutor.startJob(request,
+          System.getenv(),
+          new ByteArrayInputStream(new byte[0]),
+          stdOut,
+          new BoundedOutputStream()));
     } catch (InterruptedException e) {
       throw new DaemonTaskInterrupted(e);
+    } finally {
+      stdOut.close();
     }
 
-    try {
-      IOUtils.write(status.getStdOut().getBytes(), new FileOutputStream(new File(outputFile, containerName)));
-    } catch (IOException e) {
-      throw new HalException(Severity.FATAL, "Unable to store logs: " + e.getMessage(), e);
+    if (stdOut.getSpillFile() == null) {
+      try {
+        IOUtils.write(stdOut.toByteArray(), new FileOutputStream(logFile));
+      } catch (IOException e) {
+        throw new HalException(Severity.FATAL, "Unable to store logs: " + e.getMessage(), e);
+      }
     }
   }
 
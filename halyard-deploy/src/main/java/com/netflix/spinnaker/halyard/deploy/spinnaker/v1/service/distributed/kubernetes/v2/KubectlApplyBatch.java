@@ -0,0 +1,100 @@
+/*
+ * Copyright 2018 Google, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License")
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ *
+ */
+
+package com.netflix.spinnaker.halyard.deploy.spinnaker.v1.service.distributed.kubernetes.v2;
+
+import com.netflix.spinnaker.halyard.config.model.v1.providers.kubernetes.KubernetesAccount;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Collects the manifests for a group of services so they can be deployed with as few calls to the cluster as possible:
+ * one to check which of the create-only resources (namespaces, services) and previously applied resources are
+ * missing, and one to apply everything.
+ *
+ * Manifests are applied in the order they were added, after any missing create-only resources, so a namespace is
+ * always created before anything that's deployed into it.
+ */
+@Slf4j
+public class KubectlApplyBatch {
+  private final Set<String> createIfAbsent = new LinkedHashSet<>();
+  private final Set<String> manifests = new LinkedHashSet<>();
+
+  /**
+   * Adds a manifest that's only applied when its resource doesn't exist yet, so changes made to it outside of
+   * halyard are kept.
+   */
+  public synchronized KubectlApplyBatch createIfAbsent(String manifest) {
+    createIfAbsent.add(manifest);
+    return this;
+  }
+
+  public synchronized KubectlApplyBatch apply(String manifest) {
+    manifests.add(manifest);
+    return this;
+  }
+
+  public synchronized boolean isEmpty() {
+    return createIfAbsent.isEmpty() && manifests.isEmpty();
+  }
+
+  /**
+   * @param ledger records what was last applied, so that unchanged manifests can be skipped as long as their resources
+   *               still exist. May be null.
+   */
+  public synchronized void run(KubernetesV2Backend backend, KubernetesAccount account, KubernetesManifestLedger ledger) {
+    List<String> unchanged = manifests.stream()
+        .filter(m -> ledger != null && ledger.isApplied(m))
+        .collect(Collectors.toList());
+
+    List<String> probed = new ArrayList<>(createIfAbsent);
+    probed.addAll(unchanged);
+    List<String> missing = backend.missing(account, probed);
+
+    List<String> batch = createIfAbsent.stream()
+        .filter(missing::contains)
+        .collect(Collectors.toList());
+
+    List<String> applied;
+    if (missing.isEmpty()) {
+      applied = manifests.stream()
+          .filter(m -> !unchanged.contains(m))
+          .collect(Collectors.toList());
+    } else {
+      // Something was deleted outside of halyard (possibly a whole namespace), so nothing recorded can be trusted.
+      log.info(missing.size() + " resources are missing from the cluster, applying every manifest");
+      applied = new ArrayList<>(manifests);
+    }
+
+    batch.addAll(applied);
+
+    log.info("Applying " + batch.size() + " manifests, skipping " + (manifests.size() - applied.size()) + " unchanged manifests");
+    backend.applyAll(account, batch);
+    if (ledger != null) {
+      ledger.recordApplied(applied);
+    }
+
+    createIfAbsent.clear();
+    manifests.clear();
+  }
+}
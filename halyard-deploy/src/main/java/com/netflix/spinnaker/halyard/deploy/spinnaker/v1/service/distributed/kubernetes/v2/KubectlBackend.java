@@ -0,0 +1,50 @@
+/*
+ * Copyright 2018 Google, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License")
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ *
+ */
+
+package com.netflix.spinnaker.halyard.deploy.spinnaker.v1.service.distributed.kubernetes.v2;
+
+import com.netflix.spinnaker.halyard.config.model.v1.providers.kubernetes.KubernetesAccount;
+
+import java.util.List;
+
+/**
+ * Makes every change by running kubectl.
+ */
+public class KubectlBackend implements KubernetesV2Backend {
+  static final KubectlBackend INSTANCE = new KubectlBackend();
+
+  @Override
+  public List<String> missing(KubernetesAccount account, List<String> manifests) {
+    return KubernetesV2Utils.missing(account, manifests);
+  }
+
+  @Override
+  public void applyAll(KubernetesAccount account, List<String> manifests) {
+    KubernetesV2Utils.applyAll(account, manifests);
+  }
+
+  @Override
+  public void delete(KubernetesAccount account, String namespace, String service) {
+    KubernetesV2Utils.delete(account, namespace, service);
+  }
+
+  @Override
+  public void deleteSpinnaker(KubernetesAccount account, String namespace) {
+    KubernetesV2Utils.deleteSpinnaker(account, namespace);
+  }
+}
@@ -18,6 +18,7 @@
 
 package com.netflix.spinnaker.halyard.deploy.spinnaker.v1.service.distributed.kubernetes.v2;
 
+import com.netflix.spinnaker.halyard.config.config.v1.HalconfigDirectoryStructure;
 import com.netflix.spinnaker.halyard.config.model.v1.providers.kubernetes.KubernetesAccount;
 import com.netflix.spinnaker.halyard.core.RemoteAction;
 import com.netflix.spinnaker.halyard.core.error.v1.HalException;
@@ -95,12 +96,17 @@ public class KubectlServiceProvider extends SpinnakerServiceProvider<AccountDepl
   @Autowired
   KubernetesV2RoscoService roscoService;
 
+  @Autowired
+  HalconfigDirectoryStructure halconfigDirectoryStructure;
+
   @Override
   public RemoteAction clean(AccountDeploymentDetails<KubernetesAccount> details, SpinnakerRuntimeSettings runtimeSettings) {
     DaemonTaskHandler.newStage("Invoking kubectl");
     DaemonTaskHandler.message("Deleting all 'svc,deploy,secret' resources with label 'app=spin'...");
     KubernetesSharedServiceSettings kubernetesSharedServiceSettings = new KubernetesSharedServiceSettings(details.getDeploymentConfiguration());
-    KubernetesV2Utils.deleteSpinnaker(details.getAccount(), kubernetesSharedServiceSettings.getDeployLocation());
+    KubernetesV2Backend.forDeployment(details.getDeploymentConfiguration())
+        .deleteSpinnaker(details.getAccount(), kubernetesSharedServiceSettings.getDeployLocation());
+    KubernetesManifestLedger.discard(halconfigDirectoryStructure.getAppliedManifestsPath(details.getDeploymentName()));
     return new RemoteAction();
   }
 
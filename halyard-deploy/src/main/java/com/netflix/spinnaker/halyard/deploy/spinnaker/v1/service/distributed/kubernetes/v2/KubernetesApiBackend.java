@@ -0,0 +1,196 @@
+/*
+ * Copyright 2018 Google, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License")
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ *
+ */
+
+package com.netflix.spinnaker.halyard.deploy.spinnaker.v1.service.distributed.kubernetes.v2;
+
+import com.netflix.spinnaker.halyard.config.model.v1.providers.kubernetes.KubernetesAccount;
+import com.netflix.spinnaker.halyard.core.error.v1.HalException;
+import com.netflix.spinnaker.halyard.core.problem.v1.Problem;
+import com.netflix.spinnaker.halyard.deploy.spinnaker.v1.service.distributed.kubernetes.KubernetesClientCache;
+import io.fabric8.kubernetes.api.model.HasMetadata;
+import io.fabric8.kubernetes.client.BaseClient;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.kubernetes.client.KubernetesClientException;
+import okhttp3.HttpUrl;
+import okhttp3.MediaType;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+import org.apache.commons.lang3.StringUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Makes every change through the cluster's API server, with the account's cached client rather than a kubectl process
+ * per change.
+ *
+ * Manifests are created or replaced as a whole, since the client has no equivalent of kubectl's three-way merge.
+ */
+public class KubernetesApiBackend implements KubernetesV2Backend {
+  static final KubernetesApiBackend INSTANCE = new KubernetesApiBackend(KubernetesClientCache::getClient);
+
+  // Spinnaker's deployments are written as apps/v1beta2 manifests, which the client only knows under the extensions
+  // API group, so they're deleted through the apps API directly.
+  private static final String DEPLOYMENTS_PATH = "apis/apps/v1beta2/namespaces/%s/deployments";
+  // Deleting a deployment otherwise leaves its replica sets and pods running.
+  private static final String DELETE_DEPENDENTS = "{\"kind\":\"DeleteOptions\",\"apiVersion\":\"v1\",\"propagationPolicy\":\"Background\"}";
+
+  private final Function<KubernetesAccount, KubernetesClient> clients;
+
+  KubernetesApiBackend(Function<KubernetesAccount, KubernetesClient> clients) {
+    this.clients = clients;
+  }
+
+  @Override
+  public List<String> missing(KubernetesAccount account, List<String> manifests) {
+    if (manifests.isEmpty()) {
+      return manifests;
+    }
+
+    KubernetesClient client = clients.apply(account);
+    List<List<HasMetadata>> resources = manifests.stream()
+        .map(m -> load(client, m))
+        .collect(Collectors.toList());
+
+    Set<String> existing = new HashSet<>();
+    try {
+      client.resourceList(resources.stream().flatMap(List::stream).collect(Collectors.toList()))
+          .fromServer()
+          .get()
+          .stream()
+          // Resources that don't exist may come back as nulls rather than being left out.
+          .filter(Objects::nonNull)
+          .forEach(r -> existing.add(resourceKey(r)));
+    } catch (KubernetesClientException e) {
+      throw new HalException(Problem.Severity.FATAL, "Failed check for existing resources: " + e.getMessage(), e);
+    }
+
+    List<String> result = new ArrayList<>();
+    for (int i = 0; i < manifests.size(); i++) {
+      boolean allExist = resources.get(i).stream().allMatch(r -> existing.contains(resourceKey(r)));
+      if (!allExist) {
+        result.add(manifests.get(i));
+      }
+    }
+
+    return result;
+  }
+
+  @Override
+  public void applyAll(KubernetesAccount account, List<String> manifests) {
+    if (manifests.isEmpty()) {
+      return;
+    }
+
+    KubernetesClient client = clients.apply(account);
+    List<HasMetadata> resources = manifests.stream()
+        .map(m -> load(client, m))
+        .flatMap(List::stream)
+        .collect(Collectors.toList());
+
+    try {
+      client.resourceList(resources).createOrReplace();
+    } catch (KubernetesClientException e) {
+      throw new HalException(Problem.Severity.FATAL, "Failed to deploy manifests: " + e.getMessage(), e);
+    }
+  }
+
+  @Override
+  public void delete(KubernetesAccount account, String namespace, String service) {
+    deleteLabeled(account, namespace, "cluster", service);
+  }
+
+  @Override
+  public void deleteSpinnaker(KubernetesAccount account, String namespace) {
+    deleteLabeled(account, namespace, "app", "spin");
+  }
+
+  private void deleteLabeled(KubernetesAccount account, String namespace, String label, String value) {
+    KubernetesClient client = clients.apply(account);
+    try {
+      deleteDeployments(client, namespace, label, value);
+      client.services().inNamespace(namespace).withLabel(label, value).delete();
+      client.secrets().inNamespace(namespace).withLabel(label, value).delete();
+    } catch (KubernetesClientException e) {
+      throw new HalException(Problem.Severity.FATAL, "Failed to delete resources labeled " + label + "=" + value
+          + " in " + namespace + ": " + e.getMessage(), e);
+    }
+  }
+
+  private static void deleteDeployments(KubernetesClient client, String namespace, String label, String value) {
+    if (!(client instanceof BaseClient)) {
+      throw new IllegalStateException("Unable to make requests with client " + client.getClass().getName());
+    }
+
+    if (StringUtils.isEmpty(namespace)) {
+      namespace = StringUtils.defaultIfEmpty(client.getNamespace(), "default");
+    }
+
+    OkHttpClient httpClient = ((BaseClient) client).getHttpClient();
+    HttpUrl url = HttpUrl.get(client.getMasterUrl())
+        .newBuilder()
+        .addPathSegments(String.format(DEPLOYMENTS_PATH, namespace))
+        .addQueryParameter("labelSelector", label + "=" + value)
+        .build();
+    Request request = new Request.Builder()
+        .url(url)
+        .delete(RequestBody.create(MediaType.parse("application/json"), DELETE_DEPENDENTS))
+        .build();
+
+    Response response;
+    try {
+      response = httpClient.newCall(request).execute();
+    } catch (IOException e) {
+      throw new KubernetesClientException("Failed to delete deployments: " + e.getMessage(), e);
+    }
+
+    try {
+      if (!response.isSuccessful() && response.code() != 404) {
+        throw new KubernetesClientException("Failed to delete deployments (" + response.code() + "): " + response.body().string());
+      }
+    } catch (IOException e) {
+      throw new KubernetesClientException("Failed to delete deployments (" + response.code() + ")", e);
+    } finally {
+      response.body().close();
+    }
+  }
+
+  private static List<HasMetadata> load(KubernetesClient client, String manifest) {
+    try {
+      return client.load(new ByteArrayInputStream(manifest.getBytes())).get();
+    } catch (KubernetesClientException e) {
+      throw new HalException(Problem.Severity.FATAL, "Unable to parse manifest: " + e.getMessage() + "\n" + manifest, e);
+    }
+  }
+
+  private static String resourceKey(HasMetadata resource) {
+    return String.join("/",
+        resource.getKind(),
+        StringUtils.defaultString(resource.getMetadata().getNamespace()),
+        resource.getMetadata().getName());
+  }
+}
@@ -0,0 +1,86 @@
+/*
+ * Copyright 2018 Google, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License")
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ *
+ */
+
+package com.netflix.spinnaker.halyard.deploy.spinnaker.v1.service.distributed.kubernetes.v2;
+
+import com.google.common.hash.Hashing;
+import com.netflix.spinnaker.halyard.deploy.config.v1.ConfigParser;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Records a digest of every manifest last applied to a deployment, keyed by the resource it describes, so a manifest
+ * that renders the same as last time doesn't need to be applied again.
+ *
+ * Since secrets are named after their contents, a service whose config hasn't changed renders the same secrets and
+ * deployment, and is skipped entirely. The ledger only knows what halyard applied, so it's discarded whenever halyard
+ * deletes resources, and can be bypassed with `hal deploy apply --force`.
+ */
+@Slf4j
+public class KubernetesManifestLedger {
+  private final ConfigParser configParser;
+  private final Path path;
+  private final Map<String, String> digests;
+
+  public KubernetesManifestLedger(ConfigParser configParser, Path path) {
+    this.configParser = configParser;
+    this.path = path;
+
+    Map<String, String> loaded = null;
+    if (path.toFile().exists()) {
+      try {
+        loaded = configParser.read(path, Map.class);
+      } catch (RuntimeException e) {
+        log.warn("Unable to read applied manifests from " + path + ", all manifests will be applied", e);
+      }
+    }
+
+    this.digests = loaded != null ? new HashMap<>(loaded) : new HashMap<>();
+  }
+
+  public synchronized boolean isApplied(String manifest) {
+    return digest(manifest).equals(digests.get(KubernetesV2Utils.resourceKey(manifest)));
+  }
+
+  public synchronized void recordApplied(List<String> manifests) {
+    manifests.forEach(m -> digests.put(KubernetesV2Utils.resourceKey(m), digest(m)));
+    configParser.atomicWrite(path, digests);
+  }
+
+  /**
+   * Forgets everything applied to a deployment, so the next deploy applies every manifest.
+   */
+  public static void discard(Path path) {
+    try {
+      Files.deleteIfExists(path);
+    } catch (IOException e) {
+      log.warn("Unable to delete applied manifests at " + path, e);
+    }
+  }
+
+  private static String digest(String manifest) {
+    return Hashing.sha256().hashString(manifest, StandardCharsets.UTF_8).toString();
+  }
+}
@@ -0,0 +1,60 @@
+/*
+ * Copyright 2018 Google, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License")
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ *
+ */
+
+package com.netflix.spinnaker.halyard.deploy.spinnaker.v1.service.distributed.kubernetes.v2;
+
+import com.netflix.spinnaker.halyard.config.model.v1.node.DeploymentConfiguration;
+import com.netflix.spinnaker.halyard.config.model.v1.providers.kubernetes.KubernetesAccount;
+
+import java.util.List;
+
+/**
+ * The way halyard makes changes to the cluster Spinnaker is deployed to, selected per deployment by its
+ * deploymentEnvironment.kubernetesBackend.
+ */
+public interface KubernetesV2Backend {
+  /**
+   * @return the manifests whose resources don't exist yet.
+   */
+  List<String> missing(KubernetesAccount account, List<String> manifests);
+
+  /**
+   * Creates or updates all manifests' resources, in the order given.
+   */
+  void applyAll(KubernetesAccount account, List<String> manifests);
+
+  /**
+   * Deletes the deployments, services and secrets belonging to one Spinnaker service.
+   */
+  void delete(KubernetesAccount account, String namespace, String service);
+
+  /**
+   * Deletes the deployments, services and secrets belonging to all of Spinnaker.
+   */
+  void deleteSpinnaker(KubernetesAccount account, String namespace);
+
+  static KubernetesV2Backend forDeployment(DeploymentConfiguration deploymentConfiguration) {
+    switch (deploymentConfiguration.getDeploymentEnvironment().getKubernetesBackend()) {
+      case API:
+        return KubernetesApiBackend.INSTANCE;
+      case KUBECTL:
+      default:
+        return KubectlBackend.INSTANCE;
+    }
+  }
+}
@@ -147,13 +147,17 @@ public interface KubernetesV2Service<T> extends HasServiceSettings<T> {
     return volume.toString();
   }
 
-  default String getResourceYaml(AccountDeploymentDetails<KubernetesAccount> details,
+  /**
+   * @param batch collects the secrets the resource mounts, which must be applied before the resource itself.
+   */
+  default String getResourceYaml(KubectlApplyBatch batch,
+      AccountDeploymentDetails<KubernetesAccount> details,
       GenerateService.ResolvedConfiguration resolvedConfiguration) {
     ServiceSettings settings = resolvedConfiguration.getServiceSettings(getService());
     SpinnakerRuntimeSettings runtimeSettings = resolvedConfiguration.getRuntimeSettings();
     String namespace = getNamespace(settings);
 
-    List<ConfigSource> configSources = stageConfig(details, resolvedConfiguration);
+    List<ConfigSource> configSources = stageConfig(batch, details, resolvedConfiguration);
 
     List<SidecarConfig> sidecarConfigs = details.getDeploymentConfiguration()
         .getDeploymentEnvironment()
@@ -401,7 +405,8 @@ public interface KubernetesV2Service<T> extends HasServiceSettings<T> {
     return settings.getLocation();
   }
 
-  default List<ConfigSource> stageConfig(AccountDeploymentDetails<KubernetesAccount> details,
+  default List<ConfigSource> stageConfig(KubectlApplyBatch batch,
+      AccountDeploymentDetails<KubernetesAccount> details,
       GenerateService.ResolvedConfiguration resolvedConfiguration) {
     Map<String, Profile> profiles = resolvedConfiguration.getProfilesForService(getService().getType());
     String stagingPath = getSpinnakerStagingPath(details.getDeploymentName());
@@ -412,7 +417,6 @@ public interface KubernetesV2Service<T> extends HasServiceSettings<T> {
     List<ConfigSource> configSources = new ArrayList<>();
     String secretNamePrefix = getServiceName() + "-files";
     String namespace = getNamespace(resolvedConfiguration.getServiceSettings(getService()));
-    KubernetesAccount account = details.getAccount();
 
     for (SidecarService sidecarService : getSidecars(runtimeSettings)) {
       for (Profile profile : sidecarService.getSidecarProfiles(resolvedConfiguration, getService())) {
@@ -458,7 +462,7 @@ public interface KubernetesV2Service<T> extends HasServiceSettings<T> {
               Entry::getValue
           ));
 
-      String name = KubernetesV2Utils.createSecret(account, namespace, getService().getCanonicalName(), secretNamePrefix, files);
+      String name = KubernetesV2Utils.createSecret(batch, namespace, getService().getCanonicalName(), secretNamePrefix, files);
       configSources.add(new ConfigSource()
           .setId(name)
           .setMountPath(mountPath)
@@ -472,7 +476,7 @@ public interface KubernetesV2Service<T> extends HasServiceSettings<T> {
           .map(SecretMountPair::new)
           .collect(Collectors.toList());
 
-      String name = KubernetesV2Utils.createSecret(account, namespace, getService().getCanonicalName(), secretNamePrefix, files);
+      String name = KubernetesV2Utils.createSecret(batch, namespace, getService().getCanonicalName(), secretNamePrefix, files);
       configSources.add(new ConfigSource()
           .setId(name)
           .setMountPath(files.get(0).getContents().getParent())
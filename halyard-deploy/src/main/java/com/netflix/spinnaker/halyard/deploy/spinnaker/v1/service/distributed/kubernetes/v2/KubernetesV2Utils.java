@@ -43,9 +43,14 @@ import java.io.FileInputStream;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Base64;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 @Slf4j
 public class KubernetesV2Utils {
@@ -178,7 +183,20 @@ public class KubernetesV2Utils {
   }
 
   static public void apply(KubernetesAccount account, String manifest) {
-    manifest = prettify(manifest);
+    applyAll(account, Collections.singletonList(manifest));
+  }
+
+  /**
+   * Applies all manifests with a single kubectl process, in the order given.
+   */
+  static public void applyAll(KubernetesAccount account, List<String> manifests) {
+    if (manifests.isEmpty()) {
+      return;
+    }
+
+    String manifest = manifests.stream()
+        .map(KubernetesV2Utils::prettify)
+        .collect(Collectors.joining("---\n"));
     List<String> command = kubectlPrefix(account);
     command.add("apply");
     command.add("-f");
@@ -219,7 +237,70 @@ public class KubernetesV2Utils {
     }
   }
 
-  static public String createSecret(KubernetesAccount account, String namespace, String clusterName, String name, List<SecretMountPair> files) {
+  /**
+   * Checks which of the given manifests' resources already exist with a single kubectl process.
+   *
+   * @return the manifests whose resources don't exist yet.
+   */
+  static public List<String> missing(KubernetesAccount account, List<String> manifests) {
+    if (manifests.isEmpty()) {
+      return manifests;
+    }
+
+    String manifest = manifests.stream()
+        .map(KubernetesV2Utils::prettify)
+        .collect(Collectors.joining("---\n"));
+    List<String> command = kubectlPrefix(account);
+    command.add("get");
+    command.add("-f");
+    command.add("-"); // read from stdin
+    command.add("--ignore-not-found");
+    command.add("-o");
+    command.add("json");
+
+    JobRequest request = new JobRequest().setTokenizedCommand(command);
+
+    ByteArrayOutputStream stdout = new ByteArrayOutputStream();
+    ByteArrayOutputStream stderr = new ByteArrayOutputStream();
+
+    String jobId = DaemonTaskHandler.getJobExecutor().startJob(request,
+        System.getenv(),
+        new ByteArrayInputStream(manifest.getBytes()),
+        stdout,
+        stderr);
+
+    JobStatus status;
+    try {
+      status = DaemonTaskHandler.getJobExecutor().backoffWait(jobId);
+    } catch (InterruptedException e) {
+      throw new DaemonTaskInterrupted(e);
+    }
+
+    if (status.getState() != JobStatus.State.COMPLETED || status.getResult() != JobStatus.Result.SUCCESS) {
+      throw new HalException(Problem.Severity.FATAL, String.join("\n",
+          "Failed check for existing resources:",
+          stderr.toString(),
+          stdout.toString()));
+    }
+
+    Set<String> existing = new HashSet<>();
+    String output = stdout.toString().trim();
+    if (!output.isEmpty()) {
+      Map<String, Object> parsedOutput = parseManifest(output);
+      if ("List".equals(parsedOutput.get("kind"))) {
+        ((List<Map<String, Object>>) parsedOutput.getOrDefault("items", new ArrayList<>()))
+            .forEach(i -> existing.add(resourceKey(i)));
+      } else {
+        existing.add(resourceKey(parsedOutput));
+      }
+    }
+
+    return manifests.stream()
+        .filter(m -> !existing.contains(resourceKey(parseManifest(m))))
+        .collect(Collectors.toList());
+  }
+
+  static public String createSecret(KubectlApplyBatch batch, String namespace, String clusterName, String name, List<SecretMountPair> files) {
     Map<String, String> contentMap = new HashMap<>();
     for (SecretMountPair pair: files) {
       String contents;
@@ -244,7 +325,7 @@ public class KubernetesV2Utils {
 
     secret.extendBindings(bindings);
 
-    apply(account, secret.toString());
+    batch.apply(secret.toString());
 
     return name;
   }
@@ -302,6 +383,18 @@ public class KubernetesV2Utils {
     return command;
   }
 
+  static String resourceKey(String manifest) {
+    return resourceKey(parseManifest(manifest));
+  }
+
+  static private String resourceKey(Map<String, Object> manifest) {
+    Map<String, Object> metadata = (Map<String, Object>) manifest.getOrDefault("metadata", new HashMap<>());
+    return String.join("/",
+        Objects.toString(manifest.get("kind")),
+        Objects.toString(metadata.get("namespace"), ""),
+        Objects.toString(metadata.get("name")));
+  }
+
   static private String prettify(String input) {
     return yaml.dump(yaml.load(input));
   }
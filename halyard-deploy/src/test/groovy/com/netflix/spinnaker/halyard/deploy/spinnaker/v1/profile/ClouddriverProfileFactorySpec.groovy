@@ -0,0 +1,119 @@
+/*
+ * Copyright 2018 Google, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License")
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.spinnaker.halyard.deploy.spinnaker.v1.profile
+
+import com.fasterxml.jackson.databind.ObjectMapper
+import com.netflix.spinnaker.halyard.config.config.v1.ArtifactSourcesConfig
+import com.netflix.spinnaker.halyard.config.config.v1.HalconfigDirectoryStructure
+import com.netflix.spinnaker.halyard.config.model.v1.node.DeploymentConfiguration
+import com.netflix.spinnaker.halyard.config.model.v1.node.DeploymentEnvironment
+import com.netflix.spinnaker.halyard.config.model.v1.providers.containers.DockerRegistryReference
+import com.netflix.spinnaker.halyard.config.model.v1.providers.dockerRegistry.DockerRegistryAccount
+import com.netflix.spinnaker.halyard.config.model.v1.providers.google.GoogleAccount
+import com.netflix.spinnaker.halyard.config.model.v1.providers.kubernetes.KubernetesAccount
+import org.yaml.snakeyaml.Yaml
+import spock.lang.Specification
+
+import java.nio.file.Files
+import java.util.concurrent.Callable
+import java.util.concurrent.Executors
+
+class ClouddriverProfileFactorySpec extends Specification {
+  def staging = Files.createTempDirectory("staging")
+
+  void cleanup() {
+    staging.toFile().deleteDir()
+  }
+
+  void "generating clouddriver profiles concurrently leaves the deployment's providers unchanged"() {
+    setup:
+    def deploymentConfiguration = distributedDeployment()
+    def original = new ObjectMapper().convertValue(deploymentConfiguration.providers, Map)
+    def clouddriver = inject(new ClouddriverProfileFactory())
+    def bootstrap = inject(new ClouddriverBootstrapProfileFactory())
+    bootstrap.artifactSourcesConfig = new ArtifactSourcesConfig()
+    def executor = Executors.newFixedThreadPool(4)
+
+    when:
+    def results = executor.invokeAll((1..50).collectMany {
+      [
+          { generate(clouddriver, deploymentConfiguration) } as Callable<String>,
+          { generate(bootstrap, deploymentConfiguration) } as Callable<String>
+      ]
+    })*.get()
+
+    then:
+    new ObjectMapper().convertValue(deploymentConfiguration.providers, Map) == original
+    deploymentConfiguration.providers.kubernetes.accounts*.name == ["k8s"]
+    deploymentConfiguration.providers.kubernetes.accounts[0].namespaces.isEmpty()
+    deploymentConfiguration.providers.dockerRegistry.enabled
+    deploymentConfiguration.providers.dockerRegistry.accounts*.name == ["docker"]
+    deploymentConfiguration.providers.google.enabled
+    results.indexed().every { i, contents -> contents.contains("k8s") == (i % 2 == 1) }
+
+    cleanup:
+    executor.shutdown()
+  }
+
+  private DeploymentConfiguration distributedDeployment() {
+    def deploymentConfiguration = new DeploymentConfiguration()
+    deploymentConfiguration.deploymentEnvironment
+        .setType(DeploymentEnvironment.DeploymentType.Distributed)
+        .setAccountName("k8s")
+        .setBootstrapOnly(true)
+
+    def providers = deploymentConfiguration.providers
+    def kubernetesAccount = new KubernetesAccount()
+    kubernetesAccount.name = "k8s"
+    kubernetesAccount.dockerRegistries = [new DockerRegistryReference().setAccountName("docker")]
+    providers.kubernetes.enabled = true
+    providers.kubernetes.accounts = [kubernetesAccount]
+
+    def dockerAccount = new DockerRegistryAccount()
+    dockerAccount.name = "docker"
+    providers.dockerRegistry.enabled = true
+    providers.dockerRegistry.accounts = [dockerAccount]
+
+    def googleAccount = new GoogleAccount()
+    googleAccount.name = "gce"
+    providers.google.enabled = true
+    providers.google.accounts = [googleAccount]
+
+    deploymentConfiguration.parentify()
+    return deploymentConfiguration
+  }
+
+  private <T extends ProfileFactory> T inject(T factory) {
+    def directoryStructure = Stub(HalconfigDirectoryStructure) {
+      getStagingDependenciesPath(_) >> staging
+    }
+
+    [yamlParser: new Yaml(), strictObjectMapper: new ObjectMapper(), halconfigDirectoryStructure: directoryStructure].each { name, value ->
+      def field = ProfileFactory.getDeclaredField(name)
+      field.accessible = true
+      field.set(factory, value)
+    }
+
+    return factory
+  }
+
+  private static String generate(ProfileFactory factory, DeploymentConfiguration deploymentConfiguration) {
+    def profile = new Profile("clouddriver.yml", "1.0.0", "/dev/null", "")
+    factory.setProfile(profile, deploymentConfiguration, null)
+    return profile.contents
+  }
+}
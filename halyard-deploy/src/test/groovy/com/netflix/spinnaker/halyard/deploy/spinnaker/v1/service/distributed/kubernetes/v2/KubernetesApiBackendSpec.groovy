@@ -0,0 +1,133 @@
+/*
+ * Copyright 2018 Google, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License")
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.spinnaker.halyard.deploy.spinnaker.v1.service.distributed.kubernetes.v2
+
+import com.netflix.spinnaker.halyard.config.model.v1.providers.kubernetes.KubernetesAccount
+import com.netflix.spinnaker.halyard.core.error.v1.HalException
+import io.fabric8.kubernetes.api.model.SecretListBuilder
+import io.fabric8.kubernetes.api.model.ServiceBuilder
+import io.fabric8.kubernetes.api.model.ServiceListBuilder
+import io.fabric8.kubernetes.server.mock.KubernetesServer
+import spock.lang.Specification
+
+class KubernetesApiBackendSpec extends Specification {
+  static final String SERVICE = """
+apiVersion: v1
+kind: Service
+metadata:
+  name: spin-echo
+  namespace: spinnaker
+spec:
+  ports:
+  - port: 8089
+"""
+
+  static final String SECRET = """
+apiVersion: v1
+kind: Secret
+metadata:
+  name: spin-echo-files
+  namespace: spinnaker
+"""
+
+  KubernetesServer server = new KubernetesServer()
+  KubernetesApiBackend backend
+  KubernetesAccount account = new KubernetesAccount()
+
+  void setup() {
+    server.before()
+    backend = new KubernetesApiBackend({ server.client })
+  }
+
+  void cleanup() {
+    server.after()
+  }
+
+  void "creates manifests that don't exist yet"() {
+    setup:
+    server.expect().post().withPath("/api/v1/namespaces/spinnaker/services").andReturn(201, echoService()).once()
+
+    when:
+    backend.applyAll(account, [SERVICE])
+
+    then:
+    requests().any { it.method == "POST" && it.path == "/api/v1/namespaces/spinnaker/services" }
+  }
+
+  void "reports manifests whose resources the server doesn't return"() {
+    setup:
+    server.expect().get().withPath("/api/v1/namespaces/spinnaker/services/spin-echo").andReturn(200, echoService()).always()
+    // Nothing is expected for the secret, so the server answers 404 and the client returns null for it.
+
+    expect:
+    backend.missing(account, [SERVICE, SECRET]) == [SECRET]
+    backend.missing(account, [SERVICE]) == []
+    backend.missing(account, []) == []
+  }
+
+  void "deletes labeled deployments through the apps API group, along with their services and secrets"() {
+    setup:
+    def deployments = "/apis/apps/v1beta2/namespaces/spinnaker/deployments?labelSelector=cluster%3Dspin-echo"
+    server.expect().delete().withPath(deployments).andReturn(200, "{}").once()
+    server.expect().get().withPath("/api/v1/namespaces/spinnaker/services?labelSelector=cluster%3Dspin-echo")
+        .andReturn(200, new ServiceListBuilder().withItems(echoService()).build())
+        .always()
+    server.expect().delete().withPath("/api/v1/namespaces/spinnaker/services/spin-echo").andReturn(200, "{}").once()
+    server.expect().get().withPath("/api/v1/namespaces/spinnaker/secrets?labelSelector=cluster%3Dspin-echo")
+        .andReturn(200, new SecretListBuilder().build())
+        .always()
+
+    when:
+    backend.delete(account, "spinnaker", "spin-echo")
+    def requests = requests()
+
+    then:
+    def deleteDeployments = requests.find { it.method == "DELETE" && it.path == deployments }
+    deleteDeployments != null
+    deleteDeployments.body.readUtf8().contains('"propagationPolicy":"Background"')
+    requests.any { it.method == "DELETE" && it.path == "/api/v1/namespaces/spinnaker/services/spin-echo" }
+    !requests.any { it.path.startsWith("/apis/extensions") }
+  }
+
+  void "fails when the deployments can't be deleted"() {
+    setup:
+    server.expect().delete()
+        .withPath("/apis/apps/v1beta2/namespaces/spinnaker/deployments?labelSelector=app%3Dspin")
+        .andReturn(500, "{}")
+        .once()
+
+    when:
+    backend.deleteSpinnaker(account, "spinnaker")
+
+    then:
+    thrown(HalException)
+  }
+
+  private List requests() {
+    def mockServer = server.mockServer
+    return (0..<mockServer.requestCount).collect { mockServer.takeRequest() }
+  }
+
+  private static echoService() {
+    return new ServiceBuilder()
+        .withNewMetadata()
+        .withName("spin-echo")
+        .withNamespace("spinnaker")
+        .endMetadata()
+        .build()
+  }
+}
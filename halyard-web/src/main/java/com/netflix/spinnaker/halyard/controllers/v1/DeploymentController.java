@@ -22,6 +22,7 @@ import com.netflix.spinnaker.halyard.config.model.v1.node.DeploymentConfiguratio
 import com.netflix.spinnaker.halyard.config.model.v1.node.Halconfig;
 import com.netflix.spinnaker.halyard.config.model.v1.node.NodeDiff;
 import com.netflix.spinnaker.halyard.config.services.v1.DeploymentService;
+import com.netflix.spinnaker.halyard.config.services.v1.ValidateService;
 import com.netflix.spinnaker.halyard.core.DaemonResponse.StaticRequestBuilder;
 import com.netflix.spinnaker.halyard.core.DaemonResponse.UpdateRequestBuilder;
 import com.netflix.spinnaker.halyard.core.RemoteAction;
@@ -280,6 +281,9 @@ public class DeploymentController extends DeploymentsGrpc.DeploymentsImplBase{
     Supplier<ProblemSet> doValidate = ProblemSet::new;
     if (validationSettings.isValidate()) {
       doValidate = () -> deploymentService.validateDeploymentShallow(deploymentName);
+      if (validationSettings.isForceValidation()) {
+        doValidate = ValidateService.withFullValidation(doValidate);
+      }
     }
 
     builder.setValidate(doValidate);
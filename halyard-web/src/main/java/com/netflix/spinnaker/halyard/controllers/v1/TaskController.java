@@ -3,7 +3,9 @@ package com.netflix.spinnaker.halyard.controllers.v1;
 import com.google.longrunning.GetOperationRequest;
 import com.google.longrunning.OperationsGrpc;
 import com.netflix.spinnaker.halyard.config.model.v1.node.Halconfig;
+import com.netflix.spinnaker.halyard.core.tasks.v1.DaemonEvent;
 import com.netflix.spinnaker.halyard.core.tasks.v1.DaemonTask;
+import com.netflix.spinnaker.halyard.core.tasks.v1.DaemonTaskProgress;
 import com.netflix.spinnaker.halyard.core.tasks.v1.ShallowTaskList;
 import com.netflix.spinnaker.halyard.core.tasks.v1.TaskRepository;
 import org.lognet.springboot.grpc.GRpcService;
@@ -11,6 +13,8 @@ import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.*;
 import retrofit.http.Body;
 
+import java.util.List;
+
 @GRpcService
 @RestController
 @RequestMapping("/v1/tasks")
@@ -20,6 +24,31 @@ public class TaskController extends OperationsGrpc.OperationsImplBase {
     return TaskRepository.getTask(uuid);
   }
 
+  @RequestMapping(value = "/{uuid:.+}/events", method = RequestMethod.GET)
+  List<DaemonEvent> getTaskEvents(@PathVariable String uuid,
+      @RequestParam(value = "since", defaultValue = "0") long since) {
+    DaemonTask task = TaskRepository.getTask(uuid);
+
+    if (task == null) {
+      throw new TaskNotFoundException("No such task with UUID " + uuid);
+    }
+
+    return task.getEventsBetween(since, Long.MAX_VALUE);
+  }
+
+  @RequestMapping(value = "/{uuid:.+}/progress", method = RequestMethod.GET)
+  DaemonTaskProgress getTaskProgress(@PathVariable String uuid,
+      @RequestParam(value = "since", defaultValue = "0") long since,
+      @RequestParam(value = "waitMs", defaultValue = "0") long waitMs) throws InterruptedException {
+    DaemonTaskProgress progress = TaskRepository.getProgress(uuid, since, waitMs);
+
+    if (progress == null) {
+      throw new TaskNotFoundException("No such task with UUID " + uuid);
+    }
+
+    return progress;
+  }
+
   @RequestMapping(value = "/{uuid:.+}/interrupt", method = RequestMethod.PUT)
   void interruptTask(@PathVariable String uuid, @Body String ignored) {
     DaemonTask task = TaskRepository.getTask(uuid);
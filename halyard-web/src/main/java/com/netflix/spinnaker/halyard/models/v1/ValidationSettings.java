@@ -22,5 +22,6 @@ import lombok.Data;
 @Data
 public class ValidationSettings {
   private boolean validate = false;
+  private boolean forceValidation = false;
   private Problem.Severity severity = Problem.Severity.WARNING;
 }
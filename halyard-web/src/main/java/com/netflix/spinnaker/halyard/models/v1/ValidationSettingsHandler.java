@@ -26,10 +26,12 @@ public class ValidationSettingsHandler {
   @ModelAttribute
   public ValidationSettings controllerValues(
       @RequestParam(required = false, defaultValue = DefaultValidationSettings.validate) boolean validate,
-      @RequestParam(required = false, defaultValue = DefaultValidationSettings.severity) Problem.Severity severity
+      @RequestParam(required = false, defaultValue = DefaultValidationSettings.severity) Problem.Severity severity,
+      @RequestParam(required = false, defaultValue = DefaultValidationSettings.forceValidation) boolean forceValidation
   ) {
     ValidationSettings values = new ValidationSettings();
     values.setValidate(validate);
+    values.setForceValidation(forceValidation);
     values.setSeverity(severity);
     return values;
   }
@@ -37,5 +39,6 @@ public class ValidationSettingsHandler {
   private static class DefaultValidationSettings {
     final static String validate = "false";
     final static String severity = "WARNING";
+    final static String forceValidation = "false";
   }
 }
@@ -17,6 +17,7 @@
 package com.netflix.spinnaker.halyard.util.v1;
 
 import com.netflix.spinnaker.halyard.config.model.v1.node.Halconfig;
+import com.netflix.spinnaker.halyard.config.services.v1.ValidateService;
 import com.netflix.spinnaker.halyard.core.DaemonResponse;
 import com.netflix.spinnaker.halyard.core.problem.v1.ProblemSet;
 import com.netflix.spinnaker.halyard.core.tasks.v1.DaemonTask;
@@ -36,7 +37,7 @@ public class GenericGetRequest<T> {
     DaemonResponse.StaticRequestBuilder<T> builder = new DaemonResponse.StaticRequestBuilder<>(getter);
     builder.setSeverity(validationSettings.getSeverity());
     if (validationSettings.isValidate()) {
-      builder.setValidateResponse(validator);
+      builder.setValidateResponse(validationSettings.isForceValidation() ? ValidateService.withFullValidation(validator) : validator);
     }
     return DaemonTaskHandler.submitTask(builder::build, description);
   }
@@ -17,6 +17,7 @@
 package com.netflix.spinnaker.halyard.util.v1;
 
 import com.netflix.spinnaker.halyard.config.config.v1.HalconfigParser;
+import com.netflix.spinnaker.halyard.config.services.v1.ValidateService;
 import com.netflix.spinnaker.halyard.core.DaemonResponse;
 import com.netflix.spinnaker.halyard.core.problem.v1.ProblemSet;
 import com.netflix.spinnaker.halyard.models.v1.ValidationSettings;
@@ -37,7 +38,7 @@ class RequestUtils {
       Supplier<ProblemSet> validator) {
     builder.setSeverity(validationSettings.getSeverity());
     if (validationSettings.isValidate()) {
-      builder.setValidate(validator);
+      builder.setValidate(validationSettings.isForceValidation() ? ValidateService.withFullValidation(validator) : validator);
     } else {
       builder.setValidate(ProblemSet::new);
     }